@@ -0,0 +1,121 @@
+package com.event.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.event.dto.VenueDTO;
+import com.event.model.Order;
+import com.event.model.OrderItem;
+import com.event.model.Venue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Response serialization for the two heaviest payloads: an Order with its items (order history,
+ * admin order views) and a page of VenueDTOs (the /venues listing). The mapper is configured the
+ * way Spring Boot configures the one behind the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({ "1", "10" })
+    private int orderItems;
+
+    @Param({ "20" })
+    private int venuePage;
+
+    private ObjectMapper objectMapper;
+    private Order order;
+    private List<VenueDTO> venues;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        order = new Order();
+        order.setOrderId(1001L);
+        order.setUserId(42L);
+        order.setUserEmail("buyer@example.com");
+        order.setPaymentMethod("ESEWA");
+        order.setStatus("Paid");
+        order.setAddress("Baneshwor, Kathmandu");
+        order.setTotalAmount(new BigDecimal("4500.00"));
+        order.setTransactionUuid("241028-1a2b3c4d");
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < orderItems; i++) {
+            OrderItem item = new OrderItem();
+            item.setId((long) i);
+            item.setVenueId(500L + i);
+            item.setVenueName("Denim jacket " + i);
+            item.setQuantity(1);
+            item.setPrice(new BigDecimal("1500.00"));
+            item.setAddress("Baneshwor, Kathmandu");
+            item.setOrder(order);
+            items.add(item);
+        }
+        order.setItems(items);
+
+        venues = new ArrayList<>();
+        for (int i = 0; i < venuePage; i++) {
+            venues.add(VenueDTO.fromVenue(venue(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeVenuePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(venues);
+    }
+
+    private static Venue venue(int i) {
+        Venue venue = new Venue();
+        venue.setVenue_id((long) i);
+        venue.setVenueName("Vintage denim jacket " + i);
+        venue.setLocation("Kathmandu");
+        venue.setPrice(new BigDecimal("1500.00"));
+        venue.setBrand("Levi's");
+        venue.setQuality("Like new");
+        venue.setSize("M");
+        venue.setCategory("Clothing");
+        venue.setStatus("Available");
+        venue.setDescription("Lightly worn, no stains or tears. Original buttons.");
+        venue.setOpeningTime(LocalTime.of(9, 0));
+        venue.setClosingTime(LocalTime.of(18, 0));
+        venue.setMinBookingHours(1);
+        venue.setCreatedAt(LocalDateTime.now());
+        venue.setAmenities(List.of("Washed", "Ironed"));
+        venue.setImageUrls(new ArrayList<>(List.of(
+                "https://res.cloudinary.com/demo/image/upload/v1/venues/" + i + "-front.jpg",
+                "https://res.cloudinary.com/demo/image/upload/v1/venues/" + i + "-back.jpg")));
+        return venue;
+    }
+}
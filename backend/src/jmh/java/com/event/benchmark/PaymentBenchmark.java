@@ -0,0 +1,59 @@
+package com.event.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.event.util.OrderIdGenerator;
+import com.event.util.SignatureUtil;
+
+/**
+ * Checkout-side helpers: the eSewa HMAC signature (one per payment form and status check) and
+ * order id generation. The threaded variants show contention on the shared state (the static
+ * Random in OrderIdGenerator, the per-thread Mac in SignatureUtil).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentBenchmark {
+
+    @Setup
+    public void setUp() {
+        new SignatureUtil().setMerchantSecret("8gBm/:&EnhH.1/q");
+    }
+
+    @Benchmark
+    public String esewaSignature() {
+        return SignatureUtil.generateEsewaSignature("1500.00", "241028-1a2b3c4d", "EPAYTEST");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String esewaSignatureThreaded() {
+        return SignatureUtil.generateEsewaSignature("1500.00", "241028-1a2b3c4d", "EPAYTEST");
+    }
+
+    @Benchmark
+    public String orderId() {
+        return OrderIdGenerator.generate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String orderIdThreaded() {
+        return OrderIdGenerator.generate();
+    }
+}
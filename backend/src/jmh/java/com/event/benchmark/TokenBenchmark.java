@@ -0,0 +1,71 @@
+package com.event.benchmark;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.event.configuration.JwtUtil;
+
+/**
+ * JwtUtil on the paths every authenticated request takes: issuing a token at login/refresh, and
+ * validating one in JwtRequestFilter, both from the verified-token cache and with a full parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+
+    private JwtUtil cachingJwt;
+    private JwtUtil uncachedJwt;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        String secret = Base64.getEncoder().encodeToString(key);
+
+        cachingJwt = jwtUtil(secret, 10000);
+        uncachedJwt = jwtUtil(secret, 0); // nothing is cached, every call parses and verifies
+        token = cachingJwt.generateToken("buyer@example.com", "USER", 42L);
+        cachingJwt.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwt.generateToken("buyer@example.com", "USER", 42L);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachingJwt.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedJwt.validateToken(token);
+    }
+
+    private static JwtUtil jwtUtil(String secret, int cacheMaxEntries) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "base64Key", secret);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntries", cacheMaxEntries);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+}
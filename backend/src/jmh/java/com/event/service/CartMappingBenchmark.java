@@ -0,0 +1,52 @@
+package com.event.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.event.dto.CartDTO;
+
+/**
+ * The row-to-DTO mapping behind CartService.getCartByUserId on a cache miss, fed with rows shaped
+ * like CartRepo.findCartRowsByUserId returns them. The query itself is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartMappingBenchmark {
+
+    @Param({ "1", "10", "50" })
+    private int items;
+
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            rows.add(new Object[] { 7L, 42L, (long) i, 500L + i, 1, "Vintage denim jacket " + i,
+                    new BigDecimal("1500.00"), "Available" });
+        }
+    }
+
+    @Benchmark
+    public CartDTO toCartDTO() {
+        return CartService.toCartDTO(rows);
+    }
+}
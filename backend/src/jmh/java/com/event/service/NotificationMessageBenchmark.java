@@ -0,0 +1,64 @@
+package com.event.service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.event.dto.NotificationDTO;
+import com.event.model.Attendee;
+import com.event.model.User;
+
+/**
+ * NotificationService.buildMessageForRole, run once per recipient of every order notification.
+ * Lives in com.event.service because the method is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationMessageBenchmark {
+
+    @Param({ "USER", "ADMIN", "PARTNER" })
+    private String role;
+
+    @Param({ "ORDER", "ORDER_STATUS" })
+    private String type;
+
+    private NotificationService notificationService;
+    private User sender;
+    private NotificationDTO dto;
+
+    @Setup
+    public void setUp() {
+        notificationService = new NotificationService();
+
+        sender = new Attendee();
+        sender.setFullname("Sita Sharma");
+
+        dto = new NotificationDTO();
+        dto.setType(type);
+        dto.setTitle("Order Placed Successfully");
+        dto.setBookingId(1001L);
+        dto.setVenueId(500L);
+        dto.setVenueName("Vintage denim jacket");
+        dto.setTotalAmount(new BigDecimal("4500.00"));
+    }
+
+    @Benchmark
+    public String buildMessageForRole() {
+        return notificationService.buildMessageForRole(role, sender, dto);
+    }
+}
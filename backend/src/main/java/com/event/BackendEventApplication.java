@@ -3,9 +3,11 @@ package com.event;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync  // ✅ Enables @Async methods in the app
+@EnableScheduling
 public class BackendEventApplication {
 
     public static void main(String[] args) {
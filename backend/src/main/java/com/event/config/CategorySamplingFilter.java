@@ -0,0 +1,77 @@
+package com.event.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Keeps only a fraction of the INFO-and-below events of noisy logger categories, e.g.
+ * {@code org.springframework.security=0.1} keeps every tenth event from that package. WARN and
+ * ERROR always pass. The most specific configured category wins; unlisted loggers are untouched.
+ *
+ * Configured from {@code logging.sampling.categories} (comma-separated category=rate pairs) in
+ * logback-spring.xml. Runs on the logging thread before the async queue, so dropped events cost
+ * one prefix match and a counter increment.
+ */
+public class CategorySamplingFilter extends Filter<ILoggingEvent> {
+
+    private record Category(String prefix, long keepEvery, AtomicLong seen) {
+
+        boolean matches(String loggerName) {
+            return loggerName.startsWith(prefix)
+                    && (loggerName.length() == prefix.length() || loggerName.charAt(prefix.length()) == '.');
+        }
+    }
+
+    // Longest prefix first, so the most specific category is found first
+    private volatile List<Category> categories = List.of();
+
+    public void setCategories(String spec) {
+        List<Category> parsed = new ArrayList<>();
+        if (spec != null) {
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2 || parts[0].isBlank()) {
+                    continue;
+                }
+                double rate;
+                try {
+                    rate = Double.parseDouble(parts[1].trim());
+                } catch (NumberFormatException e) {
+                    addWarn("Ignoring log sampling entry '" + entry + "': rate is not a number");
+                    continue;
+                }
+                // 0 drops everything below WARN; 1 or more keeps everything
+                long keepEvery = rate <= 0 ? Long.MAX_VALUE : Math.max(1, Math.round(1 / Math.min(rate, 1.0)));
+                parsed.add(new Category(parts[0].trim(), keepEvery, new AtomicLong()));
+            }
+        }
+        parsed.sort(Comparator.comparingInt((Category c) -> c.prefix().length()).reversed());
+        categories = List.copyOf(parsed);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        String loggerName = event.getLoggerName();
+        for (Category category : categories) {
+            if (category.matches(loggerName)) {
+                if (category.keepEvery() == Long.MAX_VALUE) {
+                    return FilterReply.DENY;
+                }
+                return category.seen().getAndIncrement() % category.keepEvery() == 0
+                        ? FilterReply.NEUTRAL
+                        : FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
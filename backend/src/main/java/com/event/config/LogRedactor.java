@@ -0,0 +1,50 @@
+package com.event.config;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Masks credentials in log text before it is written: bearer tokens, anything shaped like a JWT,
+ * and values of secret-looking keys ("password=...", "\"api_secret\": \"...\""). Used by the
+ * logback pipeline in logback-spring.xml for both the text and the JSON output.
+ */
+public final class LogRedactor {
+
+    static final String MASK = "[REDACTED]";
+
+    private static final Pattern BEARER = Pattern.compile("(?i)(bearer\\s+)[A-Za-z0-9._~+/=-]+");
+    private static final Pattern JWT = Pattern.compile("eyJ[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]*");
+    private static final Pattern SECRET_VALUE = Pattern.compile(
+            "(?i)((?:password|passwd|secret|api_secret|api_key|token|refresh_token|signature|otp)[\"']?\\s*[:=]\\s*[\"']?)"
+                    + "([^\\s\"',&}]+)");
+
+    private LogRedactor() {
+    }
+
+    public static String redact(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        // Cheap pre-check: most lines mention none of these, so skip the regexes
+        String lower = text.toLowerCase();
+        boolean bearer = lower.contains("bearer");
+        boolean jwt = text.contains("eyJ");
+        boolean keyed = lower.contains("pass") || lower.contains("secret") || lower.contains("token")
+                || lower.contains("api_key") || lower.contains("signature") || lower.contains("otp");
+        if (!bearer && !jwt && !keyed) {
+            return text;
+        }
+
+        String redacted = text;
+        if (bearer) {
+            redacted = BEARER.matcher(redacted).replaceAll("$1" + Matcher.quoteReplacement(MASK));
+        }
+        if (jwt) {
+            redacted = JWT.matcher(redacted).replaceAll(Matcher.quoteReplacement(MASK));
+        }
+        if (keyed) {
+            redacted = SECRET_VALUE.matcher(redacted).replaceAll("$1" + Matcher.quoteReplacement(MASK));
+        }
+        return redacted;
+    }
+}
@@ -0,0 +1,65 @@
+package com.event.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import com.event.service.PaymentReconciler;
+import com.event.service.VenueDetailCache;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Application-specific additions to the Actuator metrics: the controller method on every
+ * {@code http.server.requests} timer, and meters for the in-memory components that already
+ * keep their own counters (venue detail cache, payment reconciliation).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public DefaultServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                        .and("handler", RequestMetricsFilter.handlerName(context.getCarrier()));
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder venueDetailCacheMetrics(VenueDetailCache cache) {
+        return registry -> {
+            FunctionCounter.builder("venues.detail_cache.requests", cache, c -> c.stats().hits())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("venues.detail_cache.requests", cache, c -> c.stats().misses())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("venues.detail_cache.evictions", cache, c -> c.stats().evictions())
+                    .register(registry);
+            FunctionCounter.builder("venues.detail_cache.invalidations", cache, c -> c.stats().invalidations())
+                    .register(registry);
+            Gauge.builder("venues.detail_cache.entries", cache, c -> c.stats().entries()).register(registry);
+            Gauge.builder("venues.detail_cache.weight", cache, c -> c.stats().weightBytes())
+                    .baseUnit("bytes").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder paymentReconcilerMetrics(PaymentReconciler reconciler) {
+        return registry -> {
+            FunctionCounter.builder("payments.reconcile.runs", reconciler, r -> r.progress().runs())
+                    .register(registry);
+            FunctionCounter.builder("payments.reconcile.orders", reconciler, r -> r.progress().totalPaid())
+                    .tag("outcome", "paid").register(registry);
+            FunctionCounter.builder("payments.reconcile.orders", reconciler, r -> r.progress().totalFailed())
+                    .tag("outcome", "failed").register(registry);
+            Gauge.builder("payments.reconcile.running", reconciler, r -> r.progress().running() ? 1 : 0)
+                    .register(registry);
+        };
+    }
+}
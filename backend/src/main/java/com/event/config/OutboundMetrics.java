@@ -0,0 +1,43 @@
+package com.event.config;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times calls to external services (SMTP, Cloudinary, eSewa) as {@code outbound.calls}, tagged with
+ * the service, the operation and whether the call returned or threw.
+ */
+@Component
+public class OutboundMetrics {
+
+    public static final String TIMER = "outbound.calls";
+
+    private final MeterRegistry registry;
+
+    public OutboundMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    public <T, E extends Exception> T time(String service, String operation, Call<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.event.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Recording} is
+ * open, and how often each statement shape repeats. Recordings nest: the per-request one opened by
+ * {@link RequestMetricsFilter} and one opened by a test both see every statement.
+ *
+ * Hibernate creates this class itself from {@code hibernate.session_factory.statement_inspector},
+ * so the state is static. Statements issued through JdbcTemplate do not pass through Hibernate and
+ * are not counted.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<Recording>> OPEN = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    /** Statements seen on one thread between {@link #record()} and {@link #close()}. */
+    public static final class Recording implements AutoCloseable {
+
+        private long total;
+        // Keyed by the SQL string as Hibernate sent it; shapes are worked out only when asked for
+        private final Map<String, Integer> bySql = new HashMap<>();
+
+        private Recording() {
+        }
+
+        public long total() {
+            return total;
+        }
+
+        /** Statement shapes (literals and IN lists folded) with their counts, most repeated first. */
+        public Map<String, Integer> shapes() {
+            Map<String, Integer> shapes = new HashMap<>();
+            bySql.forEach((sql, count) -> shapes.merge(shape(sql), count, Integer::sum));
+
+            Map<String, Integer> sorted = new LinkedHashMap<>();
+            shapes.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                    .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+            return sorted;
+        }
+
+        /** The shape that ran most often, or null when nothing ran. */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return shapes().entrySet().stream().findFirst().orElse(null);
+        }
+
+        @Override
+        public void close() {
+            List<Recording> open = OPEN.get();
+            open.remove(this);
+            if (open.isEmpty()) {
+                OPEN.remove();
+            }
+        }
+    }
+
+    /** Starts recording on this thread; close the result (try-with-resources) to stop. */
+    public static Recording record() {
+        Recording recording = new Recording();
+        OPEN.get().add(recording);
+        return recording;
+    }
+
+    /** Folds what varies between executions of the same query, so "id IN (?,?,?)" and "id = 42" group together. */
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("(?...)");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<Recording> open = OPEN.get();
+        if (open.isEmpty()) {
+            OPEN.remove();
+            return sql;
+        }
+        for (Recording recording : open) {
+            recording.total++;
+            recording.bySql.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,13 @@
+package com.event.config;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/** The %m / %msg conversion word with {@link LogRedactor} applied, for the text console output. */
+public class RedactingMessageConverter extends MessageConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return LogRedactor.redact(super.convert(event));
+    }
+}
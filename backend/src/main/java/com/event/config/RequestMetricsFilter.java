@@ -0,0 +1,101 @@
+package com.event.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request issued through Hibernate as
+ * {@code http.server.requests.queries}, tagged like {@code http.server.requests} (method, uri
+ * template, status) plus the handling controller method.
+ *
+ * When one statement shape runs more than {@code queries.repeat-warning-threshold} times in a
+ * request (the usual sign of a lazy association loaded per row), the request is logged and
+ * counted in {@code http.server.requests.repeated_queries}.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    public static final String QUERIES = "http.server.requests.queries";
+    public static final String REPEATED_QUERIES = "http.server.requests.repeated_queries";
+
+    private static final int MAX_LOGGED_SQL = 300;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${queries.repeat-warning-threshold:10}")
+    private int repeatWarningThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountInspector.Recording recording = QueryCountInspector.record();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            recording.close();
+            String uri = uriTemplate(request);
+            String handler = handlerName(request);
+            DistributionSummary.builder(QUERIES)
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .tag("status", Integer.toString(response.getStatus()))
+                    .tag("handler", handler)
+                    .register(meterRegistry)
+                    .record(recording.total());
+
+            if (repeatWarningThreshold > 0 && recording.total() > repeatWarningThreshold) {
+                warnOnRepeats(request.getMethod(), uri, handler, recording);
+            }
+        }
+    }
+
+    private void warnOnRepeats(String method, String uri, String handler, QueryCountInspector.Recording recording) {
+        Map.Entry<String, Integer> top = recording.mostRepeated();
+        if (top == null || top.getValue() <= repeatWarningThreshold) {
+            return;
+        }
+        meterRegistry.counter(REPEATED_QUERIES, "method", method, "uri", uri, "handler", handler).increment();
+
+        String sql = top.getKey();
+        if (sql.length() > MAX_LOGGED_SQL) {
+            sql = sql.substring(0, MAX_LOGGED_SQL) + "...";
+        }
+        log.warn("Possible N+1 in {} {} ({}): same statement ran {} times of {}: {}",
+                method, uri, handler, top.getValue(), recording.total(), sql);
+    }
+
+    /** The matched route ("/venues/{id}"), never the raw path, to keep tag values bounded. */
+    static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    /** "VenueController#getVenuePage", or "none" when no controller method handled the request. */
+    static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "#" + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
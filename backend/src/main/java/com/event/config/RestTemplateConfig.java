@@ -1,14 +1,50 @@
 package com.event.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    public static final String GATEWAY_REST_TEMPLATE = "gatewayRestTemplate";
+
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * Client for payment gateway calls: one shared JDK HttpClient (which keeps its connections
+     * alive and reuses them) with connect and read timeouts, so a slow gateway fails fast instead
+     * of holding request threads.
+     */
+    @Bean(GATEWAY_REST_TEMPLATE)
+    public RestTemplate gatewayRestTemplate(
+            @Value("${gateway.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${gateway.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${gateway.http.max-threads:8}") int maxThreads) {
+        ExecutorService executor = Executors.newFixedThreadPool(maxThreads, r -> {
+            Thread thread = new Thread(r, "gateway-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(factory);
+    }
 }
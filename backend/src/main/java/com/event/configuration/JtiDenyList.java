@@ -0,0 +1,35 @@
+package com.event.configuration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Access-token ids that were revoked before they expired (logout, refresh rotation).
+ * Checked by {@link JwtRequestFilter} on every authenticated request; an entry is kept only
+ * until the token it blocks would have expired anyway. Held per JVM.
+ */
+@Component
+public class JtiDenyList {
+
+    // jti -> expiry of the access token it belongs to (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(String jti, long expiresAtMillis) {
+        if (jti != null && expiresAtMillis > System.currentTimeMillis()) {
+            revoked.put(jti, expiresAtMillis);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.deny-list.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
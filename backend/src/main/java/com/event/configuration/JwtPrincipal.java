@@ -0,0 +1,11 @@
+package com.event.configuration;
+
+/**
+ * Claims of a verified access token, as cached by {@link JwtUtil}.
+ */
+public record JwtPrincipal(String email, String role, Long userId, String jti, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -1,5 +1,7 @@
 package com.event.configuration;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,16 +15,19 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.List;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtRequestFilter.class);
+
     private final JwtUtil jwtUtil;
+    private final JtiDenyList jtiDenyList;
 
-    public JwtRequestFilter(JwtUtil jwtUtil) {
+    public JwtRequestFilter(JwtUtil jwtUtil, JtiDenyList jtiDenyList) {
         this.jwtUtil = jwtUtil;
+        this.jtiDenyList = jtiDenyList;
     }
 
     @Override
@@ -32,55 +37,44 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     	
     	
-        try {
-            if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
-                // Skip authentication for preflight requests
-                chain.doFilter(request, response);
-                return;
-            }
+        if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            // Skip authentication for preflight requests
+            chain.doFilter(request, response);
+            return;
+        }
 
+        try {
             final String header = request.getHeader("Authorization");
             if (header != null && header.startsWith("Bearer ")) {
-                String token = header.substring(7);
-                System.out.println("[JwtRequestFilter] Token found: " + token);
-
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.getEmailFromToken(token);
-                    String role = jwtUtil.getRoleFromToken(token);
-
-                    System.out.println("[JwtRequestFilter] Username from token: " + username);
-                    System.out.println("[JwtRequestFilter] Role from token: " + role);
-                    
-
-                    if (username != null && role != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                        List<GrantedAuthority> authorities = List.of(
-                            new SimpleGrantedAuthority(role.toLowerCase()),         // "admin"
-                            new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()) // "ROLE_ADMIN"
-                        );
-
-                        UsernamePasswordAuthenticationToken auth =
-                                new UsernamePasswordAuthenticationToken(username, null, authorities);
-
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-
-                        System.out.println("[JwtRequestFilter] Authentication set for user: " + username);
-                    
-                    } else {
-                        System.out.println("[JwtRequestFilter] Authentication not set: username or role null or authentication already exists");
-                    }
-                } else {
-                    System.out.println("[JwtRequestFilter] JWT token validation failed");
+                // One verification per distinct token; repeat callers are served from JwtUtil's cache
+                JwtPrincipal principal = jwtUtil.authenticate(header.substring(7));
+
+                if (principal == null) {
+                    log.debug("JWT validation failed for {} {}", request.getMethod(), request.getRequestURI());
+                } else if (jtiDenyList.isRevoked(principal.jti())) {
+                    log.debug("Revoked JWT presented for {} {}", request.getMethod(), request.getRequestURI());
+                } else if (principal.email() != null && principal.role() != null
+                        && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    String role = principal.role();
+                    List<GrantedAuthority> authorities = List.of(
+                        new SimpleGrantedAuthority(role.toLowerCase()),         // "admin"
+                        new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()) // "ROLE_ADMIN"
+                    );
+
+                    UsernamePasswordAuthenticationToken auth =
+                            new UsernamePasswordAuthenticationToken(principal.email(), null, authorities);
+                    // The verified claims, for endpoints that only serve the caller's own user id
+                    auth.setDetails(principal);
+
+                    SecurityContextHolder.getContext().setAuthentication(auth);
                 }
-            } else {
-                System.out.println("[JwtRequestFilter] No Bearer token found in Authorization header");
             }
-
-            chain.doFilter(request, response);
         } catch (Exception ex) {
-            // Log the error and continue filter chain or you may want to send an error response here
-            System.err.println("[JwtRequestFilter] Exception in filter: " + ex.getMessage());
-            chain.doFilter(request, response);
+            // Authentication problems leave the request anonymous; the security rules decide the rest
+            log.warn("JWT authentication error: {}", ex.getMessage());
         }
+
+        chain.doFilter(request, response);
     }
     
     
@@ -1,7 +1,10 @@
 package com.event.configuration;
 
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -9,22 +12,39 @@ import org.springframework.stereotype.Component;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+
 import java.security.Key;
 
 @Component
 public class JwtUtil {
 
-	
+
 	@Value("${jwt.secret}")
     private String base64Key;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(base64Key);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Built once from the secret; both are thread-safe
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Verified tokens, keyed by the full token string so a hit always means the same signature
+    private final Map<String, JwtPrincipal> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Key));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     private final long EXPIRATION_TIME = 1000 * 60 * 60 * 10; // 10 hours
 
+    public long getExpirationMillis() {
+        return EXPIRATION_TIME;
+    }
+
     public String generateToken(String email, String role, Long userId) {
         String jti = UUID.randomUUID().toString();
         return Jwts.builder()
@@ -34,43 +54,78 @@ public class JwtUtil {
           .setId(jti)
           .setIssuedAt(new Date())
           .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-          .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+          .signWith(signingKey, SignatureAlgorithm.HS256)
           .compact();
     }
-    
-    
-    public String getJti(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey())
-          .build().parseClaimsJws(token).getBody().getId();
-    }
-    
-    public boolean validateToken(String token) {
+
+    /**
+     * Verifies the token and returns its claims, or null when it is invalid or expired.
+     * Repeat calls with the same token are answered from the cache until the token expires.
+     */
+    public JwtPrincipal authenticate(String token) {
+        JwtPrincipal cached = verifiedTokens.get(token);
+        long now = System.currentTimeMillis();
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verifiedTokens.remove(token);
+            return null;
+        }
+
+        JwtPrincipal principal;
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            Claims claims = parseClaims(token);
+            principal = new JwtPrincipal(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.get("userId", Long.class),
+                    claims.getId(),
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
+        }
+
+        if (verifiedTokens.size() >= cacheMaxEntries) {
+            evictExpired(now);
         }
+        if (verifiedTokens.size() < cacheMaxEntries) {
+            verifiedTokens.put(token, principal);
+        }
+        return principal;
+    }
+
+    // Drops expired entries; if the cache is still full it is emptied rather than grown
+    private void evictExpired(long now) {
+        Iterator<JwtPrincipal> it = verifiedTokens.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+            }
+        }
+        if (verifiedTokens.size() >= cacheMaxEntries) {
+            verifiedTokens.clear();
+        }
+    }
+
+    private Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+
+    public String getJti(String token) {
+        return parseClaims(token).getId();
+    }
+
+    public boolean validateToken(String token) {
+        return authenticate(token) != null;
     }
 
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public String getRoleFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role", String.class);
+        return parseClaims(token).get("role", String.class);
     }
-}
\ No newline at end of file
+}
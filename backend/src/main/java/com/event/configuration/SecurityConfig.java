@@ -44,6 +44,9 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // A long-lived push stream; the controller also checks the token's user id
+                        .requestMatchers(HttpMethod.GET, "/notifications/user/*/stream").authenticated()
+
                         // Allow all GET requests for these endpoints (anonymous access)
                         .requestMatchers(HttpMethod.GET, "/venues", "/proxy/image", "/proxy/image/**", "/venues/**",
                                 "/bookings/**", "/bookings", "/api/stats", "/auth/test-email", "/notiifications",
@@ -136,6 +139,11 @@ public class SecurityConfig {
 
                         .requestMatchers("/api/payments/esewa/**").permitAll()
 
+                        // Actuator (served on management.server.port): health and the Prometheus scrape
+                        // are open, everything else is admin-only
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // All other requests require authentication
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
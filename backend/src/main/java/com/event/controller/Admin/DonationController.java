@@ -460,37 +460,20 @@ public class DonationController {
     @GetMapping("/pickup-fees/admin/summary")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getAdminFeeSummary() {
-        List<User> partners = userRepo.findByRole("PARTNER");
-        if (partners.isEmpty()) {
-            partners = userRepo.findByRole("partner");
+        // One aggregate query instead of loading every partner's donations (and their programs) in turn
+        List<Object[]> rows = donationRepo.sumPickupFeesByPartner("PARTNER");
+        if (rows.isEmpty()) {
+            rows = donationRepo.sumPickupFeesByPartner("partner");
         }
 
-        List<Map<String, Object>> summary = partners.stream().map(p -> {
-            List<Donation> partnerDonations = donationRepo.findByProgramPartnerUserUserId(p.getUser_id());
-
-            double unpaid = partnerDonations.stream()
-                    .filter(d -> d.getPickupPaymentStatus() == null
-                            || "UNPAID".equalsIgnoreCase(d.getPickupPaymentStatus()))
-                    .mapToDouble(d -> d.getPickupFee() != null ? d.getPickupFee()
-                            : (("assigned_to_admin".equalsIgnoreCase(d.getStatus())
-                                    || "pickedup".equalsIgnoreCase(d.getStatus())
-                                    || "picked_up".equalsIgnoreCase(d.getStatus())
-                                    || "delivered".equalsIgnoreCase(d.getStatus())) ? 150.0 : 0.0))
-                    .sum();
-
-            double requested = partnerDonations.stream()
-                    .filter(d -> "REQUESTED".equalsIgnoreCase(d.getPickupPaymentStatus()))
-                    .mapToDouble(d -> d.getPickupFee() != null ? d.getPickupFee() : 0.0)
-                    .sum();
-
-            double paid = partnerDonations.stream()
-                    .filter(d -> "PAID".equalsIgnoreCase(d.getPickupPaymentStatus()))
-                    .mapToDouble(d -> d.getPickupFee() != null ? d.getPickupFee() : 0.0)
-                    .sum();
+        List<Map<String, Object>> summary = rows.stream().map(row -> {
+            double unpaid = amount(row[2]);
+            double requested = amount(row[3]);
+            double paid = amount(row[4]);
 
             Map<String, Object> map = new HashMap<>();
-            map.put("partnerId", p.getUser_id());
-            map.put("partnerName", p.getFullname());
+            map.put("partnerId", row[0]);
+            map.put("partnerName", row[1]);
             map.put("unpaidAmount", unpaid);
             map.put("requestedAmount", requested);
             map.put("paidAmount", paid);
@@ -501,6 +484,10 @@ public class DonationController {
         return ResponseEntity.ok(summary);
     }
 
+    private static double amount(Object sum) {
+        return sum != null ? ((Number) sum).doubleValue() : 0.0;
+    }
+
     @PostMapping("/pickup-fees/admin/request/{partnerId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> requestPayment(@PathVariable Long partnerId) {
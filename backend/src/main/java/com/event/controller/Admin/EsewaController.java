@@ -2,6 +2,8 @@ package com.event.controller.Admin;
 
 import com.event.dto.EsewaPaymentRequest;
 import com.event.service.EsewaPaymentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +17,8 @@ import java.util.Map;
 @RequestMapping("/api/payments/esewa")
 @CrossOrigin(origins = "http://localhost:3000")
 public class EsewaController {
+
+    private static final Logger log = LoggerFactory.getLogger(EsewaController.class);
     
     @Autowired
     private EsewaPaymentService esewaPaymentService;
@@ -53,25 +57,26 @@ public class EsewaController {
             @RequestParam(value = "total_amount", required = false) String totalAmount) {
         
         try {
-            System.out.println("eSewa Success Callback Received");
-            System.out.println("Encoded Data: " + encodedData);
-            System.out.println("Transaction UUID: " + transactionUuid);
-            System.out.println("Total Amount: " + totalAmount);
+            log.debug("eSewa success callback for transaction {} (amount {})", transactionUuid, totalAmount);
             
             boolean paymentVerified = false;
             
             // If encoded data is provided, decode it
             if (encodedData != null && !encodedData.isEmpty()) {
                 String decodedData = new String(Base64.getDecoder().decode(encodedData));
-                System.out.println("Decoded Data: " + decodedData);
                 
                 // Parse JSON from decoded data
                 // You might want to use Jackson ObjectMapper here
             }
             
-            // Verify payment if we have transaction details
+            // Verify payment if we have transaction details. In async mode the redirect is answered
+            // straight away with the "verifying" page and the order is confirmed in the background.
             if (transactionUuid != null && totalAmount != null) {
-                paymentVerified = esewaPaymentService.verifyPayment(transactionUuid, totalAmount);
+                if (esewaPaymentService.isAsyncVerification()) {
+                    esewaPaymentService.verifyPaymentAsync(transactionUuid, totalAmount);
+                } else {
+                    paymentVerified = esewaPaymentService.verifyPayment(transactionUuid, totalAmount);
+                }
             }
             
             String htmlResponse;
@@ -200,7 +205,7 @@ public class EsewaController {
             return ResponseEntity.ok(htmlResponse);
             
         } catch (Exception e) {
-            System.err.println("Error processing success callback: " + e.getMessage());
+            log.error("Error processing eSewa success callback for transaction {}", transactionUuid, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("<h1>Error processing payment</h1><p>" + e.getMessage() + "</p>");
         }
@@ -211,8 +216,7 @@ public class EsewaController {
             @RequestParam(value = "data", required = false) String encodedData,
             @RequestParam(value = "error", required = false) String error) {
         
-        System.out.println("eSewa Failure Callback Received");
-        System.out.println("Error: " + error);
+        log.warn("eSewa failure callback: {}", error);
         
         String htmlResponse = """
             <!DOCTYPE html>
@@ -0,0 +1,39 @@
+package com.event.controller.Admin;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Local stand-in for the eSewa status API, active only with the esewa-stub profile, so payment
+ * verification and reconciliation can be exercised without the real gateway. Answers every
+ * transaction with {@code esewa.stub.status}.
+ */
+@Profile("esewa-stub")
+@RestController
+@RequestMapping("/api/payments/esewa/stub")
+public class EsewaStubController {
+
+    private static final Logger log = LoggerFactory.getLogger(EsewaStubController.class);
+
+    @Value("${esewa.stub.status:COMPLETE}")
+    private String status;
+
+    @PostMapping("/status")
+    public Map<String, String> status(@RequestBody Map<String, String> request) {
+        log.debug("eSewa stub asked about {} -> {}", request.get("transaction_uuid"), status);
+        return Map.of(
+                "status", status,
+                "transaction_uuid", String.valueOf(request.get("transaction_uuid")),
+                "total_amount", String.valueOf(request.get("total_amount")),
+                "product_code", String.valueOf(request.get("product_code")),
+                "ref_id", "STUB");
+    }
+}
@@ -1,30 +1,58 @@
 package com.event.controller.Admin;
 
 import com.event.dto.CheckoutRequest;
+import com.event.dto.CursorPageDTO;
 import com.event.dto.EsewaPaymentRequest;
 import com.event.dto.NotificationDTO;
+import com.event.dto.OrderSummaryDTO;
 import com.event.model.Order;
 import com.event.model.OrderItem;
 import com.event.repository.OrderItemRepo;
 import com.event.repository.OrderRepo;
 import com.event.repository.VenueRepo;
+import com.event.service.BadRequestException;
+import com.event.service.CheckoutService;
 import com.event.service.EmailService;
 import com.event.service.NotificationService;
+import com.event.service.OrderQueryService;
+import com.event.util.CursorCodec;
 import com.event.util.SignatureUtil;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+
     @Autowired
     private OrderRepo orderRepo;
 
@@ -43,6 +71,15 @@ public class OrderController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // @PostMapping("/checkout")
     // public Object checkout(@RequestBody CheckoutRequest request) {
     // // 1️⃣ Create order
@@ -145,109 +182,16 @@ public class OrderController {
 
     @PostMapping("/checkout")
     public Object checkout(@RequestBody CheckoutRequest request) {
-        // 1️⃣ Create order
-        Order order = new Order();
-        order.setUserId(request.getUserId());
-        order.setUserEmail(request.getUserEmail());
-        order.setPaymentMethod(request.getPaymentMethod());
-        order.setStatus(request.getPaymentMethod().equalsIgnoreCase("COD") ? "Pending" : "Payment Pending");
-        order.setTotalAmount(request.getTotalAmount());
-        order.setAddress(request.getAddress());
-
-        Order savedOrder = orderRepo.save(order);
-
-        // 2️⃣ Create arrays to hold venue info (arrays are effectively final)
-        final Long[] venueHolder = new Long[] { null };
-        final String[] venueNameHolder = new String[] { "Venue" };
-
-        // 3️⃣ Save order items
-        for (CheckoutRequest.Item item : request.getItems()) {
-            OrderItem orderItem = new OrderItem();
-            orderItem.setOrder(savedOrder);
-            orderItem.setProductId(item.getProductId());
-            orderItem.setQuantity(item.getQuantity());
-            orderItem.setPrice(item.getPrice());
-            orderItem.setVenueId(item.getVenueId());
-
-            if (item.getVenueId() != null) {
-                venueRepo.findById(item.getVenueId())
-                        .ifPresent(v -> {
-                            orderItem.setVenueName(v.getVenueName());
-                            // Capture venue info from the first item using holders
-                            if (venueHolder[0] == null) {
-                                venueHolder[0] = item.getVenueId();
-                                venueNameHolder[0] = v.getVenueName();
-                            }
-
-                            // ✅ Mark venue as inactive so it's removed from listing
-                            v.setStatus("inactive");
-                            venueRepo.save(v);
-                            System.out.println("📉 Marked venue " + v.getVenue_id() + " as inactive after checkout");
-                        });
-            }
-
-            orderItemRepo.save(orderItem);
-        }
-
-        // 4️⃣ Extract venue info from holders
-        Long venueId = venueHolder[0];
-        String venueName = venueNameHolder[0];
+        // Order, items and venue status are written in one transaction;
+        // notifications and the COD email follow after commit
+        Order savedOrder = checkoutService.checkout(request);
 
-        // 5️⃣ Debug logging for extracted venue info
-        System.out.println("🎯 Extracted venue info - ID: " + venueId + ", Name: " + venueName);
-        System.out.println("🎯 Order details - ID: " + savedOrder.getOrderId() +
-                ", Amount: " + savedOrder.getTotalAmount());
-
-        // 6️⃣ Call notification service with ALL required parameters
-        notificationService.createOrderNotification(
-                savedOrder.getUserId(),
-                savedOrder.getOrderId(),
-                savedOrder.getTotalAmount(),
-                venueId,
-                venueName);
-
-        System.out.println("✅ Order notification sent for order #" + savedOrder.getOrderId());
-
-        // 7️⃣ COD: send email & return order
         if ("COD".equalsIgnoreCase(request.getPaymentMethod())) {
-            // Send email to customer
-            String customerEmailBody = "Hello " + request.getUserEmail() + ",\n\n" +
-                    "Your order #" + savedOrder.getOrderId() +
-                    " has been placed successfully.\n" +
-                    "Total Amount: NPR " + savedOrder.getTotalAmount() + "\n" +
-                    "Venue: " + venueName + "\n" +
-                    "Payment Method: Cash on Delivery\n" +
-                    "We will contact you soon for delivery.\n\n" +
-                    "Thank you!";
-
-            emailService.sendEmail(
-                    request.getUserEmail(),
-                    "Order Placed Successfully - #" + savedOrder.getOrderId(),
-                    customerEmailBody);
-
-            // Also send email to admin (optional)
-            String adminEmailBody = "New COD Order Received!\n\n" +
-                    "Order ID: #" + savedOrder.getOrderId() + "\n" +
-                    "Customer: " + request.getUserEmail() + "\n" +
-                    "Amount: NPR " + savedOrder.getTotalAmount() + "\n" +
-                    "Venue: " + venueName + "\n" +
-                    "Address: " + request.getAddress();
-
-            // Uncomment and replace with your admin email
-            // emailService.sendEmail(
-            // "admin@example.com",
-            // "New COD Order - #" + savedOrder.getOrderId(),
-            // adminEmailBody
-            // );
-
             return savedOrder;
         }
 
-        // 8️⃣ eSewa: generate payment request
-        String transactionUuid = UUID.randomUUID().toString();
-        savedOrder.setTransactionUuid(transactionUuid);
-        orderRepo.save(savedOrder);
-
+        // eSewa: generate payment request
+        String transactionUuid = savedOrder.getTransactionUuid();
         String amount = savedOrder.getTotalAmount().setScale(2).toString(); // e.g. "1500.00"
         String message = String.format("total_amount=%s,transaction_uuid=%s,product_code=%s",
                 amount, transactionUuid, "EPAYTEST");
@@ -294,27 +238,70 @@ public class OrderController {
     public List<Order> getOrdersByUserId(@PathVariable Long userId) {
 
         List<Order> orders = orderRepo.findByUserIdOrderByOrderIdDesc(userId);
+        resolveVenueNames(orders);
+        return orders;
+    }
 
-        orders.forEach(order -> {
-            if (order.getItems() != null) {
-                order.getItems().forEach(item -> {
+    // Paged order history; pass nextCursor back to continue from the last order seen
+    @GetMapping("/user/{userId}/page")
+    public CursorPageDTO<Order> getOrdersByUserIdPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepo.findByUserIdOrderByOrderIdDesc(userId, limit);
+        } else {
+            try {
+                Long afterOrderId = Long.valueOf(CursorCodec.decode(cursor, 1)[0]);
+                orders = orderRepo.findByUserIdAndOrderIdLessThanOrderByOrderIdDesc(userId, afterOrderId, limit);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            nextCursor = CursorCodec.encode(orders.get(pageSize - 1).getOrderId());
+        }
 
-                    // ✅ VERY IMPORTANT null check
+        resolveVenueNames(orders);
+        return new CursorPageDTO<>(orders, nextCursor);
+    }
+
+    // Fills the transient venueName of every item with a single IN query
+    private void resolveVenueNames(List<Order> orders) {
+        Set<Long> venueIds = new HashSet<>();
+        for (Order order : orders) {
+            if (order.getItems() != null) {
+                for (OrderItem item : order.getItems()) {
                     if (item.getVenueId() != null) {
-                        String venueName = venueRepo
-                                .findById(item.getVenueId())
-                                .map(v -> v.getVenueName())
-                                .orElse("Unknown Venue");
-
-                        item.setVenueName(venueName);
-                    } else {
-                        item.setVenueName("Unknown Venue");
+                        venueIds.add(item.getVenueId());
                     }
-                });
+                }
             }
-        });
+        }
 
-        return orders;
+        Map<Long, String> venueNames = new HashMap<>();
+        if (!venueIds.isEmpty()) {
+            for (Object[] row : venueRepo.findNamesByIds(venueIds)) {
+                venueNames.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        for (Order order : orders) {
+            if (order.getItems() != null) {
+                for (OrderItem item : order.getItems()) {
+                    item.setVenueName(item.getVenueId() != null
+                            ? venueNames.getOrDefault(item.getVenueId(), "Unknown Venue")
+                            : "Unknown Venue");
+                }
+            }
+        }
     }
 
     @GetMapping
@@ -322,6 +309,119 @@ public class OrderController {
         return orderRepo.findAllByOrderByOrderIdDesc();
     }
 
+    // Admin listing: lightweight rows, newest first, keyset-paginated on orderId.
+    // Filters are optional; from/to are inclusive dates (yyyy-MM-dd).
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorPageDTO<OrderSummaryDTO> getOrderPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = Math.max(1, Math.min(size, 200));
+        OrderQueryService.Filter filter = toFilter(status, paymentMethod, userId, email, from, to);
+
+        Long beforeOrderId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                beforeOrderId = Long.valueOf(CursorCodec.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<OrderSummaryDTO> orders = orderQueryService.findPage(filter, beforeOrderId, pageSize + 1);
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            nextCursor = CursorCodec.encode(orders.get(pageSize - 1).getOrderId());
+        }
+        return new CursorPageDTO<>(orders, nextCursor);
+    }
+
+    // Streams every matching order as CSV or NDJSON while it is read from the database
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        OrderQueryService.Filter filter = toFilter(status, paymentMethod, userId, email, from, to);
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new BadRequestException("format must be csv or ndjson");
+        }
+
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write("orderId,userId,userEmail,status,paymentMethod,totalAmount,createdAt,itemCount\n");
+            }
+            try {
+                orderQueryService.stream(filter, order -> {
+                    try {
+                        writer.write(csv ? toCsvLine(order) : objectMapper.writeValueAsString(order) + "\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
+    private static OrderQueryService.Filter toFilter(String status, String paymentMethod, Long userId,
+            String email, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        return new OrderQueryService.Filter(status, paymentMethod, userId, email, from, to);
+    }
+
+    private static String toCsvLine(OrderSummaryDTO order) {
+        return String.join(",",
+                String.valueOf(order.getOrderId()),
+                order.getUserId() != null ? order.getUserId().toString() : "",
+                csvField(order.getUserEmail()),
+                csvField(order.getStatus()),
+                csvField(order.getPaymentMethod()),
+                order.getTotalAmount() != null ? order.getTotalAmount().toPlainString() : "",
+                order.getCreatedAt() != null ? order.getCreatedAt().toString() : "",
+                String.valueOf(order.getItemCount())) + "\n";
+    }
+
+    // Quotes fields that contain separators, quotes or line breaks; neutralises spreadsheet formulas
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
     @GetMapping("/active-count")
     public ResponseEntity<Map<String, Long>> getActiveOrderCount() {
         long count = orderRepo.countActiveOrders();
@@ -443,12 +543,11 @@ public class OrderController {
             // 5️⃣ Send notification to admin about status change
             notifyAdminAboutStatusChange(order, oldStatus, status, venueName);
 
-            System.out.println("✅ Status updated to: " + status + " for order #" + orderId);
-            System.out.println("✅ Notifications sent to user and admin");
+            log.info("Order #{} status updated to {}; user and admin notified", orderId, status);
 
             return ResponseEntity.ok(updatedOrder);
         } catch (Exception e) {
-            System.err.println("❌ Error updating order status: " + e.getMessage());
+            log.error("Error updating status of order #{}", orderId, e);
             return ResponseEntity.status(500).body("Error updating order status: " + e.getMessage());
         }
     }
@@ -505,9 +604,9 @@ public class OrderController {
 
         try {
             emailService.sendEmail(userEmail, subject, body);
-            System.out.println("✅ Status email sent to: " + userEmail);
+            log.debug("Status email queued for order #{}", order.getOrderId());
         } catch (Exception e) {
-            System.err.println("❌ Failed to send status email: " + e.getMessage());
+            log.warn("Failed to send status email for order #{}: {}", order.getOrderId(), e.getMessage());
         }
     }
 
@@ -546,9 +645,9 @@ public class OrderController {
             }
 
             notificationService.createNotificationsForAllRoles(notificationDTO);
-            System.out.println("✅ In-website notification sent for order #" + orderId);
+            log.debug("In-website notification sent for order #{}", orderId);
         } catch (Exception e) {
-            System.err.println("❌ Failed to send in-website notification: " + e.getMessage());
+            log.warn("Failed to send in-website notification for order #{}: {}", orderId, e.getMessage());
         }
     }
 
@@ -568,7 +667,7 @@ public class OrderController {
                     newStatus,
                     venueName);
         } catch (Exception e) {
-            System.err.println("❌ Failed to notify admin: " + e.getMessage());
+            log.warn("Failed to notify admin about order #{}: {}", order.getOrderId(), e.getMessage());
         }
     }
 
@@ -4,37 +4,39 @@ import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.event.model.Partner;
 import com.event.repository.BookingRepo;
-import com.event.repository.OrderRepo;
 import com.event.repository.PartnerRepo;
-import com.event.repository.UserRepo;
-import com.event.repository.VenueRepo;
+import com.event.service.PaymentReconciler;
+import com.event.service.StatsRollup;
+import com.event.service.VenueDetailCache;
 
 @RestController
 @RequestMapping("/api")
 
 public class StatsController {
 
-	@Autowired
-	private UserRepo userRepo;
 	@Autowired
 	private PartnerRepo partnerRepo;
 	@Autowired
-	private VenueRepo venueRepo;
-	@Autowired
 	private BookingRepo bookingRepo;
 	@Autowired
-	private OrderRepo orderRepo;
+	private StatsRollup statsRollup;
+	@Autowired
+	private VenueDetailCache venueDetailCache;
+	@Autowired
+	private PaymentReconciler paymentReconciler;
 
 	// @GetMapping
 	// public Map<String, Object> stats() {
@@ -60,34 +62,18 @@ public class StatsController {
 
 		if (isAdmin) {
 
-			long users = userRepo.countByUserTypeIn(List.of("ADMIN", "USER", "PARTNER"));
-			long partners = partnerRepo.count();
-			long venues = venueRepo.count();
-			long bookings = bookingRepo.count();
-			long orders = orderRepo.count();
-
-			Double bookingRevenueValue = bookingRepo.findTotalBookingCost();
-			long bookingRevenue = bookingRevenueValue != null ? bookingRevenueValue.longValue() : 0L;
-
-			BigDecimal orderRevenueValue = orderRepo.findTotalOrderAmount();
-			long orderRevenue = orderRevenueValue != null ? orderRevenueValue.longValue() : 0L;
-
-			Map<String, Long> orderStatusCounts = new HashMap<>();
-			for (Object[] row : orderRepo.countOrdersGroupedByStatus()) {
-				orderStatusCounts.put(
-						row[0].toString().toLowerCase(),
-						(Long) row[1]);
-			}
+			// Served from the in-memory rollup instead of running the aggregates per request
+			StatsRollup.Snapshot stats = statsRollup.snapshot();
 
 			Map<String, Object> response = new HashMap<>();
-			response.put("users", users);
-			response.put("partners", partners);
-			response.put("venues", venues);
-			response.put("bookings", bookings);
-			response.put("orders", orders);
-			response.put("bookingRevenue", bookingRevenue);
-			response.put("orderRevenue", orderRevenue);
-			response.put("orderStatus", orderStatusCounts);
+			response.put("users", stats.users());
+			response.put("partners", stats.partners());
+			response.put("venues", stats.venues());
+			response.put("bookings", stats.bookings());
+			response.put("orders", stats.orders());
+			response.put("bookingRevenue", stats.bookingRevenue().longValue());
+			response.put("orderRevenue", stats.orderRevenue().longValue());
+			response.put("orderStatus", new HashMap<>(stats.orderStatus()));
 
 			return response; // ✅ REQUIRED
 		} else {
@@ -109,6 +95,27 @@ public class StatsController {
 
 	}
 
+	// Hit/miss/eviction counters for sizing the venue detail cache (admin only via /api/admin/**)
+	@GetMapping("/admin/cache/venues")
+	public VenueDetailCache.Stats venueCacheStats() {
+		return venueDetailCache.stats();
+	}
+
+	// Progress of the pending-payment reconciliation (admin only via /api/admin/**)
+	@GetMapping("/admin/payments/reconciliation")
+	public PaymentReconciler.Progress reconciliationProgress() {
+		return paymentReconciler.progress();
+	}
+
+	// Starts a reconciliation pass in the background unless one is already running
+	@PostMapping("/admin/payments/reconciliation/run")
+	public ResponseEntity<PaymentReconciler.Progress> runReconciliation() {
+		if (!paymentReconciler.progress().running()) {
+			CompletableFuture.runAsync(paymentReconciler::run);
+		}
+		return ResponseEntity.accepted().body(paymentReconciler.progress());
+	}
+
 	@GetMapping("/chart-data")
 	public Map<String, Object> getChartData(Authentication authentication) {
 
@@ -119,14 +126,14 @@ public class StatsController {
 			return Map.of("error", "Access denied");
 		}
 
-		int year = LocalDate.now().getYear();
+		StatsRollup.Snapshot stats = statsRollup.snapshot();
 
 		return Map.of(
-				"users", buildMonthlyData(userRepo.countUsersPerMonth(year), "users"),
-				"partners", buildMonthlyData(partnerRepo.countPartnersPerMonth(year), "partners"),
-				"venues", buildMonthlyData(venueRepo.countVenuesPerMonth(year), "venues"),
-				"orders", buildMonthlyData(orderRepo.countOrdersPerMonth(year), "orders"),
-				"sales", buildMonthlyRevenue(orderRepo.sumOrderRevenuePerMonth(year)));
+				"users", buildMonthlyData(stats.usersPerMonth(), "users"),
+				"partners", buildMonthlyData(stats.partnersPerMonth(), "partners"),
+				"venues", buildMonthlyData(stats.venuesPerMonth(), "venues"),
+				"orders", buildMonthlyData(stats.ordersPerMonth(), "orders"),
+				"sales", buildMonthlyRevenue(stats.salesPerMonth()));
 	}
 
 	private static final String[] MONTHS = {
@@ -135,38 +142,26 @@ public class StatsController {
 	};
 
 	private List<Map<String, Object>> buildMonthlyData(
-			List<Object[]> dbData, String key) {
-
-		Map<Integer, Long> map = new HashMap<>();
-		for (Object[] row : dbData) {
-			map.put(((Number) row[0]).intValue(), (Long) row[1]);
-		}
+			long[] perMonth, String key) {
 
 		List<Map<String, Object>> result = new ArrayList<>();
 		for (int m = 1; m <= 12; m++) {
 			Map<String, Object> obj = new HashMap<>();
 			obj.put("month", MONTHS[m - 1]);
-			obj.put(key, map.getOrDefault(m, 0L));
+			obj.put(key, perMonth[m - 1]);
 			result.add(obj);
 		}
 		return result;
 	}
 
 	private List<Map<String, Object>> buildMonthlyRevenue(
-			List<Object[]> dbData) {
-
-		Map<Integer, BigDecimal> map = new HashMap<>();
-		for (Object[] row : dbData) {
-			map.put(
-					((Number) row[0]).intValue(),
-					row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO);
-		}
+			BigDecimal[] perMonth) {
 
 		List<Map<String, Object>> result = new ArrayList<>();
 		for (int m = 1; m <= 12; m++) {
 			Map<String, Object> obj = new HashMap<>();
 			obj.put("month", MONTHS[m - 1]);
-			obj.put("revenue", map.getOrDefault(m, BigDecimal.ZERO));
+			obj.put("revenue", perMonth[m - 1]);
 			result.add(obj);
 		}
 		return result;
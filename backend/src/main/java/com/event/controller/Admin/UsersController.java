@@ -30,6 +30,7 @@ import com.event.model.Partner;
 import com.event.model.User;
 
 import com.event.repository.UserRepo;
+import com.event.service.RoleDirectory;
 
 @RestController
 @RequestMapping("/admin/users")
@@ -37,6 +38,9 @@ public class UsersController {
 
     @Autowired
     private UserRepo userRepo;
+
+    @Autowired
+    private RoleDirectory roleDirectory;
     
     @Autowired private PasswordEncoder passwordEncoder;
 
@@ -71,6 +75,7 @@ public class UsersController {
         
 
         User saved = userRepo.save(user);
+        roleDirectory.invalidate();
 
         // Map saved user entity back to DTO
         UserAddDTO responseDto = new UserAddDTO();
@@ -122,6 +127,7 @@ public class UsersController {
     public ResponseEntity<Void> deleteUser(@PathVariable Long userId) {
         if (userRepo.existsById(userId)) {
             userRepo.deleteById(userId);
+            roleDirectory.invalidate();
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -178,6 +184,7 @@ public class UsersController {
         }
 
         User updatedUser = userRepo.save(existingUser);
+        roleDirectory.invalidate();
         UserAddDTO updatedDTO = new UserAddDTO();
         updatedDTO.setUser_id(updatedUser.getUser_id());
         updatedDTO.setFullname(updatedUser.getFullname());
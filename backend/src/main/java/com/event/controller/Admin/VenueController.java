@@ -1,5 +1,8 @@
 package com.event.controller.Admin;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -7,6 +10,9 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,12 +21,18 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.event.dto.CursorPageDTO;
 import com.event.dto.VenueDTO;
+import com.event.dto.VenueSearchResultDTO;
 import com.event.model.Partner;
 import com.event.model.Venue;
 import com.event.repository.PartnerRepo;
 import com.event.repository.VenueRepo;
+import com.event.service.BadRequestException;
 import com.event.service.CloudinaryService;
+import com.event.service.VenueDetailCache;
+import com.event.service.VenueSearchService;
+import com.event.util.CursorCodec;
 import java.io.IOException;
 
 @RequestMapping("/venues")
@@ -36,6 +48,21 @@ public class VenueController {
     @Autowired
     private PartnerRepo partnerRepo;
 
+    @Autowired
+    private VenueSearchService venueSearchService;
+
+    @Autowired
+    private VenueDetailCache venueDetailCache;
+
+    @Value("${venues.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${venues.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${venues.search.max-results:10000}")
+    private int maxSearchResults;
+
     @GetMapping
     public List<VenueDTO> getVenues(Authentication authentication) {
         if (authentication != null && authentication.isAuthenticated()) {
@@ -48,33 +75,58 @@ public class VenueController {
                         .orElseThrow(() -> new RuntimeException("Partner not found"));
                 return venueRepo.findByPartner(partner).stream()
                         .map(VenueDTO::fromVenue)
-                        .peek(dto -> {
-                            dto.setPartnerId(partner.getUser_id());
-                            dto.setCategory(partner.getVenues().stream()
-                                    .filter(v -> v.getVenue_id().equals(dto.getVenue_id()))
-                                    .map(Venue::getCategory)
-                                    .findFirst().orElse(null));
-                        })
+                        .peek(dto -> dto.setPartnerId(partner.getUser_id()))
                         .collect(Collectors.toList());
             }
         }
 
-        return venueRepo.findAll().stream()
-                .map(VenueDTO::fromVenue)
-                .peek(dto -> {
-                    Partner partner = venueRepo.findById(dto.getVenue_id())
-                            .map(Venue::getPartner)
-                            .orElse(null);
-                    if (partner != null) {
-                        dto.setPartnerId(partner.getUser_id());
-                        dto.setCategory(venueRepo.findById(dto.getVenue_id())
-                                .map(Venue::getCategory)
-                                .orElse(null));
-                    }
-                })
+        return venueRepo.findAllWithPartner().stream()
+                .map(this::toListingDTO)
                 .collect(Collectors.toList());
     }
 
+    // Cursor-paginated storefront listing; pass nextCursor back to get the following page
+    @GetMapping("/page")
+    public CursorPageDTO<VenueDTO> getVenuePage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = (size == null || size <= 0) ? defaultPageSize : Math.min(size, maxPageSize);
+        // Fetch one extra row to know whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Venue> venues;
+        if (cursor == null || cursor.isBlank()) {
+            venues = venueRepo.findFirstPage(limit);
+        } else {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            try {
+                venues = venueRepo.findPageAfter(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        String nextCursor = null;
+        if (venues.size() > pageSize) {
+            venues = venues.subList(0, pageSize);
+            Venue last = venues.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getVenue_id());
+        }
+
+        List<VenueDTO> items = venues.stream()
+                .map(this::toListingDTO)
+                .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    private VenueDTO toListingDTO(Venue venue) {
+        VenueDTO dto = VenueDTO.fromVenue(venue);
+        if (venue.getPartner() != null) {
+            dto.setPartnerId(venue.getPartner().getUser_id());
+        }
+        return dto;
+    }
+
     @PostMapping("/new")
     public Venue saveVenue(@RequestBody Venue venue, Authentication authentication) {
         String email = authentication.getName();
@@ -158,14 +210,8 @@ public class VenueController {
             venue.setCategory(request.getCategory());
 
             if (files != null && files.length > 0) {
-                List<String> uploadedUrls = new ArrayList<>();
-                for (MultipartFile file : files) {
-                    if (!file.isEmpty()) {
-                        String uploadedUrl = cloudinaryService.uploadFile(file, "venues");
-                        uploadedUrls.add(uploadedUrl);
-                    }
-                }
-                venue.setImageUrls(uploadedUrls);
+                // Uploaded in parallel; fails the request if any image fails
+                venue.setImageUrls(cloudinaryService.uploadFiles(files, "venues", false));
             }
 
             Venue saved = venueRepo.save(venue);
@@ -192,13 +238,9 @@ public class VenueController {
 
     @GetMapping("/{id}")
     public ResponseEntity<VenueDTO> getVenue(@PathVariable Long id) {
-        return venueRepo.findById(id)
-                .map(venue -> {
-                    VenueDTO dto = VenueDTO.fromVenue(venue);
-                    dto.setPartnerId(venue.getPartner() != null ? venue.getPartner().getUser_id() : null);
-                    dto.setCategory(venue.getCategory()); // Set category
-                    return ResponseEntity.ok(dto);
-                })
+        // Hydrated DTOs are cached; edits, deletes and checkout invalidate them
+        return venueDetailCache.get(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -231,15 +273,11 @@ public class VenueController {
 
                     // 2. Handle new image uploads and add them to the list
                     if (files != null && files.length > 0) {
-                        for (MultipartFile file : files) {
-                            if (!file.isEmpty()) {
-                                try {
-                                    String uploadedUrl = cloudinaryService.uploadFile(file, "venues");
-                                    updatedImageUrls.add(uploadedUrl);
-                                } catch (IOException e) {
-                                    e.printStackTrace();
-                                }
-                            }
+                        try {
+                            // Uploaded in parallel; images that fail are skipped
+                            updatedImageUrls.addAll(cloudinaryService.uploadFiles(files, "venues", true));
+                        } catch (IOException e) {
+                            e.printStackTrace();
                         }
                     }
 
@@ -255,6 +293,43 @@ public class VenueController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Full-text search with attribute filters, price range and facet counts.
+    // "size" is the clothing size; paging uses page/limit.
+    @GetMapping("/search")
+    public VenueSearchResultDTO searchVenues(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String size,
+            @RequestParam(required = false) String quality,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer limit) throws IOException {
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new BadRequestException("minPrice must not be greater than maxPrice");
+        }
+        int pageSize = (limit == null || limit <= 0) ? defaultPageSize : Math.min(limit, maxPageSize);
+        // Lucene collects every hit up to the requested page, so deep pages are refused outright
+        if ((page + 1L) * pageSize > maxSearchResults) {
+            throw new BadRequestException("page is beyond the last " + maxSearchResults + " results");
+        }
+
+        Map<String, String> filters = new HashMap<>();
+        filters.put("category", category);
+        filters.put("brand", brand);
+        filters.put("size", size);
+        filters.put("quality", quality);
+        filters.put("status", status);
+
+        return venueSearchService.search(q, filters, minPrice, maxPrice, sort, page, pageSize);
+    }
+
     @GetMapping("/filter")
     public List<VenueDTO> filterVenues(
             @RequestParam(required = false) String category,
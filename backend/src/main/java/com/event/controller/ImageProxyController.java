@@ -1,40 +1,42 @@
 package com.event.controller;
 
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.event.model.Venue;
 import com.event.repository.VenueRepo;
+import com.event.service.ImageCache;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URI;
-import java.net.URL;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 public class ImageProxyController {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-
     @Autowired
     private VenueRepo venueRepo;
 
+    @Autowired
+    private ImageCache imageCache;
+
+    @Value("${proxy.image-cache.max-age-seconds:86400}")
+    private long maxAgeSeconds;
+
     @GetMapping("/proxy/image")
-    public ResponseEntity<byte[]> proxyImage(@RequestParam Long venue_id) {
+    public ResponseEntity<Resource> proxyImage(@RequestParam Long venue_id, WebRequest webRequest) {
         Venue venue = venueRepo.findById(venue_id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found"));
 
@@ -45,21 +47,27 @@ public class ImageProxyController {
 
         String url = urls.get(0); // use the first image
 
+        ImageCache.CachedImage image;
         try {
-            URL imageUrl = new URL(url);
-            HttpURLConnection conn = (HttpURLConnection) imageUrl.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setConnectTimeout(5000);
-            conn.setReadTimeout(5000);
-
-            try (InputStream in = conn.getInputStream()) {
-                byte[] bytes = in.readAllBytes();
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.parseMediaType(conn.getContentType()));
-                return new ResponseEntity<>(bytes, headers, HttpStatus.OK);
-            }
+            image = imageCache.get(url);
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Unable to fetch image", e);
         }
+
+        // Answers 304 for a matching If-None-Match; also writes the ETag header
+        if (webRequest.checkNotModified(image.getEtag())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+            .contentType(MediaType.parseMediaType(image.getContentType()))
+            .contentLength(image.getLength());
+
+        // Large images are streamed from the cache file rather than loaded onto the heap
+        Resource body = image.getBytes() != null
+            ? new ByteArrayResource(image.getBytes())
+            : new FileSystemResource(image.getFile());
+        return response.body(body);
     }
 }
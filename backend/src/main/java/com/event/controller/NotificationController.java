@@ -349,13 +349,18 @@
 
 package com.event.controller;
 
+import com.event.configuration.JwtPrincipal;
 import com.event.dto.NotificationDTO;
 import com.event.dto.NotificationResponseDTO;
 import com.event.model.NotificationStatus;
+import com.event.service.NotificationPushService;
 import com.event.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -367,6 +372,9 @@ public class NotificationController {
     
     @Autowired
     private NotificationService notificationService;
+
+    @Autowired
+    private NotificationPushService notificationPushService;
     
     // ========== CREATE ==========
     
@@ -407,6 +415,22 @@ public class NotificationController {
             return ResponseEntity.status(500).body("Error getting unread count: " + e.getMessage());
         }
     }
+
+    // Pushes "notification" and "unread-count" events instead of polling unread-count.
+    // Only the user named in the token may open their stream. The body type has to be
+    // SseEmitter (not ?) for Spring to stream it.
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(@PathVariable Long userId, Authentication authentication) {
+        if (authentication == null || !(authentication.getDetails() instanceof JwtPrincipal principal)
+                || !userId.equals(principal.userId())) {
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(notificationPushService.subscribe(userId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).build();
+        }
+    }
     
     @GetMapping("/user/{userId}/status/{status}")
     public ResponseEntity<?> getNotificationsByStatus(@PathVariable Long userId, @PathVariable String status) {
@@ -1,19 +1,13 @@
 package com.event.controller;
 
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.Map;
-import java.util.Random;
-import java.util.UUID;
-
-import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.validation.annotation.Validated;
@@ -27,11 +21,12 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.event.repository.PartnerRepo;
-import com.event.repository.RefreshTokenRepo;
 import com.event.repository.UserRepo;
 import com.event.service.CloudinaryService;
 import com.event.service.EmailService;
 import com.event.service.OtpService;
+import com.event.service.RefreshTokenService;
+import com.event.service.TooManyRequestsException;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -41,7 +36,6 @@ import com.event.dto.SignupRequest;
 import com.event.model.Admin;
 import com.event.model.Attendee;
 import com.event.model.Partner;
-import com.event.model.RefreshToken;
 import com.event.model.User;
 import com.event.payload.VerifyOtpRequest;
 
@@ -49,6 +43,8 @@ import com.event.payload.VerifyOtpRequest;
 @RestController
 @RequestMapping("/auth") 
 public class SignupController {
+
+	private static final Logger log = LoggerFactory.getLogger(SignupController.class);
 	
 	@Autowired
 	private UserRepo uRepo;
@@ -65,9 +61,6 @@ public class SignupController {
 	 @Autowired
 	 private BCryptPasswordEncoder passwordEncoder;
 	 
-	 @Autowired
-	 private JavaMailSender mailSender;
-	 
 	 @Autowired
 	    private EmailService emailService;
 	 
@@ -75,9 +68,8 @@ public class SignupController {
 	    private OtpService otpService;
 	 
 	 @Autowired
-	 private RefreshTokenRepo refreshTokenRepo;
+	 private RefreshTokenService refreshTokenService;
 
-	  private final int OTP_VALID_DURATION_MINUTES = 10;
 	  
 	  
 	
@@ -132,7 +124,7 @@ public class SignupController {
 //	  }
 	  
 	    @PostMapping("/signup")
-	    public ResponseEntity<?> register(@RequestBody SignupRequest signupRequest) {
+	    public ResponseEntity<?> register(@RequestBody SignupRequest signupRequest, HttpServletRequest httpRequest) {
 	        try {
 	            if (uRepo.findByEmail(signupRequest.getEmail()).isPresent()) {
 	                return ResponseEntity.status(HttpStatus.CONFLICT)
@@ -160,24 +152,19 @@ public class SignupController {
 	            user.setCompany(signupRequest.getCompany());
 	            user.setJoinDate(LocalDateTime.now());
 
-	            // ✅ Set status to PENDING
-	            user.setStatus("Pending");
-
-	            // ✅ Generate OTP
-	            String otp = otpService.generateOtp();
-	            user.setOtpCode(otp);
-	            user.setOtpExpiry(LocalDateTime.now().plusMinutes(10)); // OTP valid for 10 mins
-
-	            // Save user with Pending status
-	            uRepo.save(user);
+	            // ✅ Nothing is written yet; the user is held with the OTP and saved once it verifies
+	            String otp = otpService.issue(OtpService.Purpose.SIGNUP, user.getEmail(),
+	                    httpRequest.getRemoteAddr(), user);
 
 	            // Send OTP email
 	            emailService.sendOtpEmail(user.getEmail(), otp);
 
 	            return ResponseEntity.ok("Signup successful. Please check your email for OTP.");
 
+	        } catch (TooManyRequestsException e) {
+	            throw e;
 	        } catch (Exception e) {
-	            e.printStackTrace();
+	            log.error("Signup failed", e);
 	            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
 	                    .body("Signup failed. Please try again.");
 	        }
@@ -228,7 +215,7 @@ public class SignupController {
 			        return ResponseEntity.ok("Partner registered successfully");
 
 			    } catch (Exception e) {
-			        e.printStackTrace();
+			        log.error("Partner signup failed", e);
 			        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
 			                .body("Partner signup failed");
 			    }
@@ -264,27 +251,16 @@ public class SignupController {
 	            default         -> redirectUrl = "/";
 	        }
 
-	        // Refresh token handling
-	        refreshTokenRepo.deleteById(existingUser.getUser_id());
-
-	        // Create new refresh token tied to session
-	        String sessionId = UUID.randomUUID().toString();
-	        String jti = jwtUtil.getJti(accessToken);
-
-	        RefreshToken rt = new RefreshToken();
-	        rt.setUser(existingUser);
-	        rt.setToken(UUID.randomUUID().toString());
-	        rt.setSessionId(sessionId);
-	        rt.setExpiresAt(Instant.now().plus(7, ChronoUnit.DAYS));
-	        rt.setJti(jti);
-	        refreshTokenRepo.save(rt);
+	        // Each login is its own refresh session; other devices stay signed in
+	        String jti = jwtUtil.authenticate(accessToken).jti();
+	        RefreshTokenService.Issued issued = refreshTokenService.issue(existingUser, jti);
 
 	        return ResponseEntity.ok(Map.of(
 	            "message",      "Login successful",
 	            "token",        accessToken,
-	            "refreshToken", rt.getToken(),
+	            "refreshToken", issued.refreshToken(),
 	            "role",         role,
-	            "sessionId",    sessionId,
+	            "sessionId",    issued.sessionId(),
 	            "redirect",     redirectUrl
 	        ));
 	    } catch (Exception e) {
@@ -294,70 +270,24 @@ public class SignupController {
 	}
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(@RequestBody Map<String, String> body) {
-        String jti = body.get("jti");
-        String sessionId = body.get("sessionId");
-
-        // Get stored refresh token object first by token string
-        Optional<RefreshToken> optRt = refreshTokenRepo.findByToken(body.get("refreshToken"));
-        if (optRt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                                 .body("Invalid or expired refresh token");
-        }
-
-        RefreshToken rt = optRt.get();
-        Long userId = rt.getUser().getUser_id();
-
-        // Now find by jti, userId and sessionId
-        Optional<RefreshToken> opt = refreshTokenRepo.findByJtiAndUserUser_idAndSessionId(jti, userId, sessionId);
-        
-        if (opt.isEmpty() || rt.getExpiresAt().isBefore(Instant.now())) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                                 .body("Invalid or expired refresh data");
-        }
-
-        User u = uRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        String newAccess = jwtUtil.generateToken(u.getEmail(), u.getRole(), u.getUser_id());
-        String newJti = jwtUtil.getJti(newAccess);
-
-        refreshTokenRepo.delete(rt);
-
-        RefreshToken newRt = new RefreshToken();
-        newRt.setUser(u);
-        newRt.setSessionId(sessionId);
-        newRt.setToken(UUID.randomUUID().toString());
-        newRt.setJti(newJti);
-        newRt.setExpiresAt(Instant.now().plus(7, ChronoUnit.DAYS));
-        refreshTokenRepo.save(newRt);
-
-        return ResponseEntity.ok(Map.of(
-            "accessToken", newAccess,
-            "refreshToken", newRt.getToken(),
-            "jti", newJti
-        ));
+        // Served from the in-memory session index; the row update is written behind
+        return refreshTokenService.rotate(body.get("refreshToken"), body.get("jti"), body.get("sessionId"))
+                .<ResponseEntity<?>>map(rotated -> ResponseEntity.ok(Map.of(
+                    "accessToken", rotated.accessToken(),
+                    "refreshToken", rotated.refreshToken(),
+                    "jti", rotated.jti()
+                )))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                                 .body("Invalid or expired refresh data"));
     }
 
     @PostMapping("/logout")
     public ResponseEntity<?> logout(@RequestBody Map<String, String> body, HttpServletRequest req) {
-        String jti = body.get("jti");
-        String sessionId = body.get("sessionId");
-
-        Optional<RefreshToken> optRt = refreshTokenRepo.findByToken(body.get("refreshToken"));
-        optRt.ifPresent(rt -> {
-            Long userId = rt.getUser().getUser_id();
-            refreshTokenRepo.findByJtiAndUserUser_idAndSessionId(jti, userId, sessionId)
-                            .ifPresent(refreshTokenRepo::delete);
-        });
+        refreshTokenService.revoke(body.get("refreshToken"), body.get("jti"), body.get("sessionId"));
 
         new SecurityContextLogoutHandler().logout(req, null, null);
         return ResponseEntity.ok("Logged out successfully");
     }
-	// generate OTP
-	private String generateOtp() {
-        Random random = new Random();
-        int otpInt = 100000 + random.nextInt(900000);
-        return String.valueOf(otpInt);
-    }
-	
 	//Send OTP TO Email
 	private void sendOtpEmail(String toEmail, String otp) {
 	    // For testing - just log the OTP instead of sending email
@@ -370,29 +300,26 @@ public class SignupController {
 	    
 	    // Uncomment this when you want to actually send emails
 	    
-	    SimpleMailMessage message = new SimpleMailMessage();
-	    message.setTo(toEmail);
-	    message.setSubject("Your Password Reset OTP");
-	    message.setText("Your OTP for password reset is: " + otp + ". It will expire in 10 minutes.");
-	    mailSender.send(message);
+	    emailService.sendEmail(toEmail, "Your Password Reset OTP",
+	            "Your OTP for password reset is: " + otp + ". It will expire in 10 minutes.");
 	    
 	}
     //Password Reset Request
     @PostMapping("/request-password-reset")
-    public ResponseEntity<?> requestPasswordReset(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> requestPasswordReset(@RequestBody Map<String, String> request,
+            HttpServletRequest httpRequest) {
         String email = request.get("email");
         try {
-            User user = uRepo.findByEmail(email)
+            uRepo.findByEmail(email)
                 .orElseThrow(() -> new Exception("User not found"));
 
-            String otp = generateOtp();
-            user.setOtpCode(otp);
-            user.setOtpExpiry(LocalDateTime.now().plusMinutes(OTP_VALID_DURATION_MINUTES));
-            uRepo.save(user);
+            String otp = otpService.issue(OtpService.Purpose.PASSWORD_RESET, email, httpRequest.getRemoteAddr(), null);
 
             sendOtpEmail(email, otp);
 
             return ResponseEntity.ok(Map.of("message", "OTP sent to email"));
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(Map.of("message", e.getMessage()));
@@ -404,7 +331,6 @@ public class SignupController {
     // Step 2: Verify OTP
     @PostMapping("/verify-signup-otp")
     public ResponseEntity<?> verifyOtp(@RequestBody VerifyOtpRequest request) {
-		System.out.println(request +"request otp");
         try {
             if (request == null || request.getEmail() == null || request.getOtp() == null) {
                 return ResponseEntity.badRequest().body("Email and OTP are required");
@@ -413,38 +339,23 @@ public class SignupController {
             String email = request.getEmail().trim();
             String otp = request.getOtp().trim();
 
-            Optional<User> optionalUser = uRepo.findByEmail(email);
-            if (optionalUser.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
-            }
-
-            User user = optionalUser.get();
-
-            String userOtp = user.getOtpCode();
-            LocalDateTime otpExpiry = user.getOtpExpiry();
-
-            if (userOtp == null || otpExpiry == null) {
-                return ResponseEntity.badRequest().body("OTP not found or expired. Please request a new OTP.");
+            OtpService.Verification<User> result = otpService.verify(OtpService.Purpose.SIGNUP, email, otp);
+            if (!result.isValid()) {
+                return ResponseEntity.badRequest().body(otpFailureMessage(result.status()));
             }
 
-            if (!userOtp.equals(otp)) {
-                return ResponseEntity.badRequest().body("Invalid OTP");
+            // OTP is valid: the pending signup is written for the first time
+            if (uRepo.findByEmail(email).isPresent()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("Email already registered");
             }
-
-            if (otpExpiry.isBefore(LocalDateTime.now())) {
-                return ResponseEntity.badRequest().body("OTP has expired");
-            }
-
-            // OTP is valid
+            User user = result.payload();
             user.setStatus("Active");
-            user.setOtpCode(null);
-            user.setOtpExpiry(null);
             uRepo.save(user);
 
             return ResponseEntity.ok("OTP verified successfully. You can now login.");
 
         } catch (Exception e) {
-            e.printStackTrace(); // Logs exact reason for 500
+            log.error("Signup OTP verification failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Internal server error");
         }
@@ -462,25 +373,17 @@ public class SignupController {
         String newPassword = request.get("password");
         
         try {
+            // Verify OTP (consumed on success)
+            OtpService.Verification<Void> result = otpService.verify(OtpService.Purpose.PASSWORD_RESET, email, otpCode);
+            if (!result.isValid()) {
+                throw new Exception(otpFailureMessage(result.status()));
+            }
+
             User user = uRepo.findByEmail(email)
                 .orElseThrow(() -> new Exception("User not found"));
 
-            // Verify OTP
-            if (user.getOtpCode() == null || !user.getOtpCode().equals(otpCode)) {
-                throw new Exception("Invalid OTP code");
-            }
-            if (user.getOtpExpiry() == null || user.getOtpExpiry().isBefore(LocalDateTime.now())) {
-                throw new Exception("OTP code has expired");
-            }
-
             // Reset password
-            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-            user.setPassword(encoder.encode(newPassword));
-
-            // Clear OTP after successful reset
-            user.setOtpCode(null);
-            user.setOtpExpiry(null);
-
+            user.setPassword(passwordEncoder.encode(newPassword));
             uRepo.save(user);
 
             return ResponseEntity.ok(Map.of("message", "Password reset successful"));
@@ -489,8 +392,15 @@ public class SignupController {
                 .body(Map.of("message", e.getMessage()));
         }
     }
-    
-   
+
+    private static String otpFailureMessage(OtpService.Status status) {
+        return switch (status) {
+            case INVALID -> "Invalid OTP";
+            case EXPIRED -> "OTP has expired";
+            case TOO_MANY_ATTEMPTS -> "Too many invalid attempts. Please request a new OTP.";
+            default -> "OTP not found or expired. Please request a new OTP.";
+        };
+    }
 }
 
 	
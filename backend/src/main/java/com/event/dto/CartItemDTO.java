@@ -10,6 +10,7 @@ public class CartItemDTO {
 	    private String venueName;
 	    private BigDecimal price;
 	    private Integer quantity;
+	    private String venueStatus;
     
 // Getters & Setters
 public Long getId() { return id; }
@@ -27,6 +28,9 @@ public void setVenueName(String venueName) { this.venueName = venueName; }
 public BigDecimal getPrice() { return price; }
 public void setPrice(BigDecimal price) { this.price = price; }
 
+public String getVenueStatus() { return venueStatus; }
+public void setVenueStatus(String venueStatus) { this.venueStatus = venueStatus; }
+
 public Integer getQuantity() { return quantity; }
 public void setQuantity(Integer quantity) { this.quantity = quantity; }
 
@@ -0,0 +1,57 @@
+package com.event.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat view of an order for admin listings and exports; no items or venue.
+ */
+public class OrderSummaryDTO {
+
+    private Long orderId;
+    private Long userId;
+    private String userEmail;
+    private String status;
+    private String paymentMethod;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+    private int itemCount;
+
+    public OrderSummaryDTO() {}
+
+    public OrderSummaryDTO(Long orderId, Long userId, String userEmail, String status, String paymentMethod,
+            BigDecimal totalAmount, LocalDateTime createdAt, int itemCount) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.userEmail = userEmail;
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+        this.totalAmount = totalAmount;
+        this.createdAt = createdAt;
+        this.itemCount = itemCount;
+    }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+}
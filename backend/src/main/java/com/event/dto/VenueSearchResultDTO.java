@@ -0,0 +1,29 @@
+package com.event.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of venue search hits, with facet counts over every match (not just this page).
+ */
+public class VenueSearchResultDTO {
+
+    private List<VenueDTO> items;
+    private long total;
+    private Map<String, Map<String, Integer>> facets;
+
+    public VenueSearchResultDTO(List<VenueDTO> items, long total, Map<String, Map<String, Integer>> facets) {
+        this.items = items;
+        this.total = total;
+        this.facets = facets;
+    }
+
+    public List<VenueDTO> getItems() { return items; }
+    public void setItems(List<VenueDTO> items) { this.items = items; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Integer>> facets) { this.facets = facets; }
+}
@@ -8,13 +8,14 @@ import java.util.List;
 import com.event.model.CartItem;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 @Entity
-@Table(name = "cart")
+@Table(name = "cart", uniqueConstraints = @UniqueConstraint(name = "uk_cart_user", columnNames = "user_id"))
 public class Cart {
 
 	  @Id
 	    @GeneratedValue(strategy = GenerationType.IDENTITY)
 	    private Long id;
 
+	    @Column(name = "user_id")
 	    private Long userId;
 
 	    private LocalDateTime createdAt = LocalDateTime.now();
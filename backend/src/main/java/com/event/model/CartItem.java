@@ -6,7 +6,8 @@ import java.math.BigDecimal;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items",
+        uniqueConstraints = @UniqueConstraint(name = "uk_cart_item_venue", columnNames = { "cart_id", "venue_id" }))
 public class CartItem {
 
 	  @Id
@@ -18,6 +19,7 @@ public class CartItem {
 	    @JsonManagedReference
 	    private Cart cart;
 
+	    @Column(name = "venue_id")
 	    private Long venueId;
 
 	    private Integer quantity;
@@ -0,0 +1,8 @@
+package com.event.model;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
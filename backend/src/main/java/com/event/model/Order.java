@@ -6,10 +6,21 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
+import com.event.service.StatsEntityListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
-@Table(name = "orders") // "order" is a reserved keyword in many DBs
+@Table(name = "orders", // "order" is a reserved keyword in many DBs
+       indexes = {
+               @Index(name = "idx_order_status_created", columnList = "status, created_at"),
+               // Covers the monthly count and revenue aggregates without touching the rows
+               @Index(name = "idx_order_created", columnList = "created_at, total_amount"),
+               @Index(name = "idx_order_user", columnList = "user_id, order_id")
+       })
+@EntityListeners(StatsEntityListener.class)
 public class Order {
 
     @Id
@@ -32,12 +43,29 @@ public class Order {
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
     }
+
+    // Status as last read from / written to the database, so listeners can see what changed
+    @Transient
+    @JsonIgnore
+    private String persistedStatus;
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    protected void rememberStatus() {
+        this.persistedStatus = this.status;
+    }
+
+    public String getPersistedStatus() {
+        return persistedStatus;
+    }
     
     
     @Column(precision = 10, scale = 2)
     private BigDecimal totalAmount;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    @BatchSize(size = 50) // initialise items for a whole page of orders at once
     @JsonManagedReference // ✅ prevents infinite recursion
     private List<OrderItem> items;
     
@@ -4,14 +4,18 @@ import jakarta.persistence.Column;
 
 import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.Table;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.PrePersist;
 
+import com.event.service.StatsEntityListener;
+
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -19,7 +23,11 @@ import java.time.format.DateTimeFormatter;
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "user_type")
-@Table(name = "user")
+@Table(name = "user", indexes = {
+        @Index(name = "idx_user_role", columnList = "role"),
+        @Index(name = "idx_user_created", columnList = "created_at")
+})
+@EntityListeners(StatsEntityListener.class)
 public abstract class User {
 
     @Id
@@ -6,14 +6,21 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
+import com.event.service.StatsEntityListener;
+import com.event.service.VenueChangeListener;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
@@ -22,7 +29,8 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "venue")
+@Table(name = "venue", indexes = @Index(name = "idx_venue_created", columnList = "created_at, venue_id"))
+@EntityListeners({ StatsEntityListener.class, VenueChangeListener.class })
 public class Venue {
 
     @Id
@@ -61,10 +69,13 @@ public class Venue {
     @Column(length = 2000)
     private String description;
 
+    // Batch-loaded so a listing page initialises these in a handful of queries
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> amenities;
 
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> imageUrls = new ArrayList<>();
 
     // ✅ Only ONE PrePersist method
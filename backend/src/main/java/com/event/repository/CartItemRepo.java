@@ -2,6 +2,8 @@ package com.event.repository;
 
 import com.event.model.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +13,7 @@ import java.util.Optional;
 public interface CartItemRepo extends JpaRepository<CartItem, Long> {
     // Query by user via cart
 	 Optional<CartItem> findByCartIdAndVenueId(Long cartId, Long venueId);
+
+	 @Query("SELECT i.cart.userId FROM CartItem i WHERE i.id = :itemId")
+	 Optional<Long> findUserIdByItemId(@Param("itemId") Long itemId);
 }
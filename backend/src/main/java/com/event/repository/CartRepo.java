@@ -2,13 +2,29 @@ package com.event.repository;
 
 import com.event.model.Cart;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CartRepo extends JpaRepository<Cart, Long> {
     // Find cart by user
 	  Optional<Cart> findByUserId(Long userId);
+
+	  // Whole cart page in one round trip. Each row is
+	  // [cartId, userId, itemId, venueId, quantity, venueName, price, venueStatus];
+	  // an empty cart yields one row with null item columns.
+	  @Query("""
+	  	    SELECT c.id, c.userId, i.id, i.venueId, i.quantity, v.venueName, v.price, v.status
+	  	    FROM Cart c
+	  	    LEFT JOIN c.items i
+	  	    LEFT JOIN Venue v ON v.venue_id = i.venueId
+	  	    WHERE c.userId = :userId
+	  	    ORDER BY i.id
+	  	""")
+	  List<Object[]> findCartRowsByUserId(@Param("userId") Long userId);
 }
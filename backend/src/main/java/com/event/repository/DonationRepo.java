@@ -32,5 +32,26 @@ public interface DonationRepo extends JpaRepository<Donation, Long> {
     List<Donation> findByProgramPartnerUserUserIdAndPickupPaymentStatus(@Param("userId") Long userId,
             @Param("paymentStatus") String paymentStatus);
 
+    // Pickup fees per partner in one pass: user id, name, unpaid, requested, paid.
+    // A fee that was never set counts as 150 for donations already handed to an admin or picked up.
+    @Query("""
+            SELECT u.user_id, u.fullname,
+                   SUM(CASE WHEN d.donationId IS NOT NULL
+                                 AND (d.pickupPaymentStatus IS NULL OR UPPER(d.pickupPaymentStatus) = 'UNPAID')
+                            THEN COALESCE(d.pickupFee,
+                                     CASE WHEN LOWER(d.status) IN ('assigned_to_admin', 'pickedup', 'picked_up', 'delivered')
+                                          THEN 150.0 ELSE 0.0 END)
+                            ELSE 0.0 END),
+                   SUM(CASE WHEN UPPER(d.pickupPaymentStatus) = 'REQUESTED' THEN COALESCE(d.pickupFee, 0.0) ELSE 0.0 END),
+                   SUM(CASE WHEN UPPER(d.pickupPaymentStatus) = 'PAID' THEN COALESCE(d.pickupFee, 0.0) ELSE 0.0 END)
+            FROM User u
+            LEFT JOIN Program p ON p.partner.user_id = u.user_id
+            LEFT JOIN Donation d ON d.program = p
+            WHERE u.role = :role
+            GROUP BY u.user_id, u.fullname
+            ORDER BY u.user_id
+            """)
+    List<Object[]> sumPickupFeesByPartner(@Param("role") String role);
+
     long countByStatusIgnoreCase(String status);
 }
@@ -0,0 +1,44 @@
+package com.event.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.event.model.EmailOutbox;
+import com.event.model.EmailStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface EmailOutboxRepo extends JpaRepository<EmailOutbox, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2) lets several dispatchers claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT e FROM EmailOutbox e
+            WHERE (e.status = :pending AND e.nextAttemptAt <= :now)
+               OR (e.status = :sending AND e.lockedAt < :staleBefore)
+            ORDER BY e.id
+            """)
+    List<EmailOutbox> findDueForUpdate(@Param("pending") EmailStatus pending,
+                                       @Param("sending") EmailStatus sending,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("staleBefore") LocalDateTime staleBefore,
+                                       Pageable pageable);
+
+    long countByStatus(EmailStatus status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = :status AND e.createdAt < :before")
+    int deleteByStatusCreatedBefore(@Param("status") EmailStatus status, @Param("before") LocalDateTime before);
+}
@@ -36,6 +36,18 @@ public interface NotificationRepo extends JpaRepository<Notification, Long> {
                                                @Param("readAt") LocalDateTime readAt,
                                                @Param("currentStatus") NotificationStatus currentStatus);
     
+    // Conditional on the current status so only one of two concurrent calls sees a row change
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :status, n.readAt = :readAt WHERE n.id = :id AND n.status = :currentStatus")
+    int updateStatusIfCurrent(@Param("id") Long id,
+                              @Param("status") NotificationStatus status,
+                              @Param("readAt") LocalDateTime readAt,
+                              @Param("currentStatus") NotificationStatus currentStatus);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.status = :status")
+    int deleteIfStatus(@Param("id") Long id, @Param("status") NotificationStatus status);
+
     @Query("SELECT n FROM Notification n WHERE n.recipient = :recipient AND n.type = :type ORDER BY n.createdAt DESC")
     List<Notification> findByRecipientAndType(@Param("recipient") User recipient, @Param("type") NotificationType type);
     
@@ -3,13 +3,18 @@ package com.event.repository;
 import com.event.model.Order;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface OrderRepo extends JpaRepository<Order, Long> {
@@ -17,6 +22,11 @@ public interface OrderRepo extends JpaRepository<Order, Long> {
 
 	List<Order> findByUserIdOrderByOrderIdDesc(Long userId);
 
+	// Keyset pages of a user's order history, newest first
+	List<Order> findByUserIdOrderByOrderIdDesc(Long userId, Pageable pageable);
+
+	List<Order> findByUserIdAndOrderIdLessThanOrderByOrderIdDesc(Long userId, Long orderId, Pageable pageable);
+
 	List<Order> findAllByOrderByOrderIdDesc();
 
 	long countByUserId(Long userId);
@@ -33,27 +43,53 @@ public interface OrderRepo extends JpaRepository<Order, Long> {
 
 	Optional<Order> findByTransactionUuid(String transactionUuid);
 
-	// ✅ Monthly revenue
+	// Keyset page of orders in a status created before a cutoff, oldest first: orderId, transactionUuid,
+	// totalAmount, createdAt. Pass the last row's createdAt/orderId to continue.
+	@Query("""
+			    SELECT o.orderId, o.transactionUuid, o.totalAmount, o.createdAt
+			    FROM Order o
+			    WHERE o.status = :status
+			      AND o.transactionUuid IS NOT NULL
+			      AND o.createdAt < :before
+			      AND (o.createdAt > :afterCreatedAt
+			           OR (o.createdAt = :afterCreatedAt AND o.orderId > :afterId))
+			    ORDER BY o.createdAt, o.orderId
+			""")
+	List<Object[]> findStatusPageAfter(@Param("status") String status,
+			@Param("before") LocalDateTime before,
+			@Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+			@Param("afterId") Long afterId,
+			Pageable pageable);
+
+	// Moves orders between statuses in one statement; rows no longer in "from" are left alone
+	@Modifying
+	@Transactional
+	@Query("UPDATE Order o SET o.status = :to WHERE o.orderId IN :ids AND o.status = :from")
+	int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") String from, @Param("to") String to);
+
+	// ✅ Monthly revenue for [from, to); a plain range on created_at so idx_order_created is used
 	@Query("""
 			    SELECT FUNCTION('MONTH', o.createdAt), SUM(o.totalAmount)
 			    FROM Order o
-			    WHERE FUNCTION('YEAR', o.createdAt) = :year
+			    WHERE o.createdAt >= :from AND o.createdAt < :to
 			    GROUP BY FUNCTION('MONTH', o.createdAt)
 			    ORDER BY FUNCTION('MONTH', o.createdAt)
 			""")
-	List<Object[]> sumOrderRevenuePerMonth(@Param("year") int year);
+	List<Object[]> sumOrderRevenuePerMonth(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
-	// ✅ Monthly order count (THIS WAS MISSING)
+	// ✅ Monthly order count for [from, to)
 	@Query("""
 			    SELECT FUNCTION('MONTH', o.createdAt), COUNT(o)
 			    FROM Order o
-			    WHERE FUNCTION('YEAR', o.createdAt) = :year
+			    WHERE o.createdAt >= :from AND o.createdAt < :to
 			    GROUP BY FUNCTION('MONTH', o.createdAt)
 			    ORDER BY FUNCTION('MONTH', o.createdAt)
 			""")
-	List<Object[]> countOrdersPerMonth(@Param("year") int year);
+	List<Object[]> countOrdersPerMonth(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
-	@Query("SELECT COUNT(o) FROM Order o WHERE LOWER(o.status) NOT IN ('completed', 'cancelled', 'canceled')")
+	// The status column uses MySQL's case-insensitive collation, so no LOWER() is needed and
+	// the count can be answered from idx_order_status_created
+	@Query("SELECT COUNT(o) FROM Order o WHERE o.status NOT IN ('completed', 'cancelled', 'canceled')")
 	long countActiveOrders();
 }
 
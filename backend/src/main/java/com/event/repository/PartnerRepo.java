@@ -1,5 +1,6 @@
 package com.event.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,10 +35,10 @@ public interface PartnerRepo extends JpaRepository<Partner, Long> {
 	 @Query("""
 			    SELECT FUNCTION('MONTH', p.createdAt), COUNT(p)
 			    FROM Partner p
-			    WHERE FUNCTION('YEAR', p.createdAt) = :year
+			    WHERE p.createdAt >= :from AND p.createdAt < :to
 			    GROUP BY FUNCTION('MONTH', p.createdAt)
 			    ORDER BY FUNCTION('MONTH', p.createdAt)
 			""")
-			List<Object[]> countPartnersPerMonth(@Param("year") int year);
+			List<Object[]> countPartnersPerMonth(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
 
@@ -16,7 +16,8 @@ import jakarta.transaction.Transactional;
 @Repository
 public interface RefreshTokenRepo extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
 
     @Query("SELECT r FROM RefreshToken r WHERE r.jti = :jti AND r.user.user_id = :userId AND r.sessionId = :sessionId")
     Optional<RefreshToken> findByJtiAndUserUser_idAndSessionId(
@@ -1,5 +1,7 @@
 package com.event.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,9 @@ public interface UserRepo extends JpaRepository<User, Long> {
 	  
 	
 	    List<User> findByRole(String role);
+
+	    @Query("SELECT u.user_id FROM User u WHERE u.role IN :roles")
+	    List<Long> findIdsByRoleIn(@Param("roles") Collection<String> roles);
 	    
 	    @Query("SELECT FUNCTION('MONTH', u.joinDate) as month, COUNT(u) FROM User u GROUP BY FUNCTION('MONTH', u.joinDate)")
 	    List<Object[]> countUsersPerMonth();
@@ -36,11 +41,11 @@ public interface UserRepo extends JpaRepository<User, Long> {
 	            FUNCTION('MONTH', u.createdAt) AS month,
 	            COUNT(u)
 	        FROM User u
-	        WHERE FUNCTION('YEAR', u.createdAt) = :year
+	        WHERE u.createdAt >= :from AND u.createdAt < :to
 	        GROUP BY FUNCTION('MONTH', u.createdAt)
 	        ORDER BY FUNCTION('MONTH', u.createdAt)
 	    """)
-	    List<Object[]> countUsersPerMonth(@Param("year") int year);
+	    List<Object[]> countUsersPerMonth(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
 }
 
@@ -1,9 +1,14 @@
 package com.event.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,6 +16,8 @@ import org.springframework.stereotype.Repository;
 import com.event.model.Partner;
 import com.event.model.Venue;
 
+import jakarta.persistence.LockModeType;
+
 
 
 @Repository
@@ -27,6 +34,47 @@ public interface VenueRepo extends JpaRepository<Venue, Long> {
 //	 List<Venue> findByPartnerId(Long partnerId); 
 	
 	List<Venue> findByCategoryIgnoreCase(String category);
+
+	// Bulk name lookup: each row is [venue_id, venueName]
+	@Query("SELECT v.venue_id, v.venueName FROM Venue v WHERE v.venue_id IN :ids")
+	List<Object[]> findNamesByIds(@Param("ids") Collection<Long> ids);
+
+	// Row-locks the venues being bought so concurrent checkouts of the same item serialise
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT v FROM Venue v WHERE v.venue_id IN :ids")
+	List<Venue> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("UPDATE Venue v SET v.status = 'inactive' WHERE v.venue_id IN :ids")
+	int markInactive(@Param("ids") Collection<Long> ids);
+
+	@Query("SELECT v FROM Venue v LEFT JOIN FETCH v.partner")
+	List<Venue> findAllWithPartner();
+
+	// Venues with partner and image list loaded, for building search documents
+	@Query("SELECT DISTINCT v FROM Venue v LEFT JOIN FETCH v.partner LEFT JOIN FETCH v.imageUrls")
+	List<Venue> findAllWithImages();
+
+	@Query("SELECT DISTINCT v FROM Venue v LEFT JOIN FETCH v.partner LEFT JOIN FETCH v.imageUrls WHERE v.venue_id IN :ids")
+	List<Venue> findAllWithImagesByIds(@Param("ids") Collection<Long> ids);
+
+	// Keyset pagination for the storefront listing, newest first.
+	// The partner is fetch-joined so a page costs one query instead of one per row.
+	@Query("""
+		    SELECT v FROM Venue v LEFT JOIN FETCH v.partner
+		    ORDER BY v.createdAt DESC, v.venue_id DESC
+		""")
+	List<Venue> findFirstPage(Pageable pageable);
+
+	@Query("""
+		    SELECT v FROM Venue v LEFT JOIN FETCH v.partner
+		    WHERE v.createdAt < :createdAt
+		       OR (v.createdAt = :createdAt AND v.venue_id < :venueId)
+		    ORDER BY v.createdAt DESC, v.venue_id DESC
+		""")
+	List<Venue> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+			@Param("venueId") Long venueId,
+			Pageable pageable);
 	
 //	List<Venue> findByLocationIgnoreCase(String location);
 	
@@ -40,11 +88,11 @@ public interface VenueRepo extends JpaRepository<Venue, Long> {
 	@Query("""
 		    SELECT FUNCTION('MONTH', v.createdAt), COUNT(v)
 		    FROM Venue v
-		    WHERE FUNCTION('YEAR', v.createdAt) = :year
+		    WHERE v.createdAt >= :from AND v.createdAt < :to
 		    GROUP BY FUNCTION('MONTH', v.createdAt)
 		    ORDER BY FUNCTION('MONTH', v.createdAt)
 		""")
-		List<Object[]> countVenuesPerMonth(@Param("year") int year);
+		List<Object[]> countVenuesPerMonth(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 	
 
 	
@@ -1,22 +1,25 @@
 package com.event.service;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import com.event.dto.CartDTO;
 import com.event.dto.CartItemDTO;
 import com.event.model.Cart;
 import com.event.model.CartItem;
-import com.event.model.User;
-import com.event.model.Venue;
 import com.event.repository.CartItemRepo;
 import com.event.repository.CartRepo;
-import com.event.repository.UserRepo;
-import com.event.repository.VenueRepo;
 
 @Service
 public class CartService {
@@ -26,32 +29,49 @@ public class CartService {
 
     @Autowired
     private CartItemRepo cartItemRepo;
-    
+
     @Autowired
-    private VenueRepo venuRepo;
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${cart.cache.ttl-ms:5000}")
+    private long cacheTtlMs;
+
+    @Value("${cart.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Short-lived per-user snapshots of the cart page; every cart write evicts its user's entry
+    private final Map<Long, CachedCart> cartCache = new ConcurrentHashMap<>();
+
+    private record CachedCart(CartDTO cart, long loadedAt) {}
+
+    // Per-user generations, striped by user id: an evict bumps its stripe, and a load only stores
+    // its result if the stripe did not move meanwhile, so a write racing a load is not lost
+    private static final int GENERATION_STRIPES = 256;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    // One statement per table: the unique keys on cart(user_id) and cart_items(cart_id, venue_id)
+    // turn concurrent adds into upserts instead of duplicate rows or lost quantity updates.
+    private static final String UPSERT_CART =
+            "INSERT INTO cart (user_id, created_at) VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE user_id = user_id";
+
+    private static final String SELECT_CART_ID = "SELECT id FROM cart WHERE user_id = ?";
+
+    private static final String UPSERT_CART_ITEM =
+            "INSERT INTO cart_items (cart_id, venue_id, quantity) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE quantity = quantity + ?";
 
     public Cart addToCart(Long userId, Long venueId, Integer quantity) {
+        // Generated keys from an upsert that hit the existing row depend on the driver and its
+        // settings, so the cart id is read back by its unique user_id
+        jdbcTemplate.update(UPSERT_CART, userId, Timestamp.valueOf(LocalDateTime.now()));
+        Long cartId = jdbcTemplate.queryForObject(SELECT_CART_ID, Long.class, userId);
 
-        Cart cart = cartRepo.findByUserId(userId)
-                .orElseGet(() -> {
-                    Cart newCart = new Cart();
-                    newCart.setUserId(userId);
-                    return cartRepo.save(newCart);
-                });
-
-        CartItem item = cartItemRepo.findByCartIdAndVenueId(cart.getId(), venueId)
-                .orElseGet(() -> {
-                    CartItem newItem = new CartItem();
-                    newItem.setCart(cart);
-                    newItem.setVenueId(venueId);
-                    newItem.setQuantity(0);
-                    return newItem;
-                });
-
-        item.setQuantity(item.getQuantity() + quantity);
-        cartItemRepo.save(item);
-
-        return cart;
+        jdbcTemplate.update(UPSERT_CART_ITEM, cartId, venueId, quantity, quantity);
+        evict(userId);
+
+        return cartRepo.findById(cartId)
+                .orElseThrow(() -> new RuntimeException("Cart not found"));
     }
 
     public Cart getCart(Long userId) {
@@ -62,9 +82,12 @@ public class CartService {
                 .orElseThrow(() -> new RuntimeException("Item not found"));
 
         item.setQuantity(quantity);
-        return cartItemRepo.save(item);
+        CartItem saved = cartItemRepo.save(item);
+        evict(item.getCart().getUserId());
+        return saved;
     }
     public void removeItem(Long cartItemId) {
+        cartItemRepo.findUserIdByItemId(cartItemId).ifPresent(this::evict);
         cartItemRepo.deleteById(cartItemId);
     }
     public void clearCart(Long userId) {
@@ -75,34 +98,70 @@ public class CartService {
         cart.getItems().clear();
 
         cartRepo.save(cart);
+        evict(userId);
     }
     
     public CartDTO getCartByUserId(Long userId) {
-        Optional<Cart> cartOpt = cartRepo.findByUserId(userId);
-        if (!cartOpt.isPresent()) return null;
+        long now = System.currentTimeMillis();
+        CachedCart cached = cartCache.get(userId);
+        if (cached != null && now - cached.loadedAt() < cacheTtlMs) {
+            return cached.cart();
+        }
+
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        CartDTO cartDTO = loadCart(userId);
+        if (cartCache.size() >= cacheMaxEntries) {
+            cartCache.values().removeIf(entry -> now - entry.loadedAt() >= cacheTtlMs);
+        }
+        if (cartDTO != null && cartCache.size() < cacheMaxEntries) {
+            // Checked under the key's lock, so an evict either skips this put or removes it afterwards
+            cartCache.compute(userId, (id, current) ->
+                    generations.get(stripe) == generation ? new CachedCart(cartDTO, now) : current);
+        }
+        return cartDTO;
+    }
+
+    // Cart, items and venue details from a single query
+    private CartDTO loadCart(Long userId) {
+        return toCartDTO(cartRepo.findCartRowsByUserId(userId));
+    }
 
-        Cart cart = cartOpt.get(); // ✅ get the entity from DB
+    // Maps the rows of CartRepo.findCartRowsByUserId; package-private for the benchmarks
+    static CartDTO toCartDTO(List<Object[]> rows) {
+        if (rows.isEmpty()) return null;
 
         CartDTO cartDTO = new CartDTO();
-        cartDTO.setId(cart.getId());
-        cartDTO.setUserId(cart.getUserId());
+        cartDTO.setId((Long) rows.get(0)[0]);
+        cartDTO.setUserId((Long) rows.get(0)[1]);
+
+        List<CartItemDTO> itemDTOs = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (row[2] == null) continue; // cart without items
 
-        List<CartItemDTO> itemDTOs = cart.getItems().stream().map(item -> {
             CartItemDTO dto = new CartItemDTO();
-            dto.setId(item.getId());
-            dto.setCartId(cart.getId());
-            dto.setQuantity(item.getQuantity());
-            dto.setVenueId(item.getVenueId());
-
-            Venue venue = venuRepo.findById(item.getVenueId()).orElse(null);
-            if (venue != null) {
-                dto.setVenueName(venue.getVenueName());
-                dto.setPrice(venue.getPrice());
-            }
-            return dto;
-        }).collect(Collectors.toList());
+            dto.setId((Long) row[2]);
+            dto.setCartId(cartDTO.getId());
+            dto.setVenueId((Long) row[3]);
+            dto.setQuantity((Integer) row[4]);
+            dto.setVenueName((String) row[5]);
+            dto.setPrice((BigDecimal) row[6]);
+            dto.setVenueStatus((String) row[7]);
+            itemDTOs.add(dto);
+        }
 
         cartDTO.setItems(itemDTOs);
         return cartDTO;
     }
+
+    private void evict(Long userId) {
+        if (userId != null) {
+            generations.incrementAndGet(stripe(userId));
+            cartCache.remove(userId);
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return (int) Math.floorMod(userId, (long) GENERATION_STRIPES);
+    }
 }
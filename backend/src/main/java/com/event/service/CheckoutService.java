@@ -0,0 +1,121 @@
+package com.event.service;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.event.dto.CheckoutRequest;
+import com.event.model.Order;
+import com.event.model.Venue;
+import com.event.repository.OrderRepo;
+import com.event.repository.VenueRepo;
+
+@Service
+public class CheckoutService {
+
+    private static final String INSERT_ORDER_ITEM =
+            "INSERT INTO order_item (order_id, product_id, venue_id, quantity, price) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private VenueRepo venueRepo;
+
+    @Autowired
+    private VenueSearchService venueSearchService;
+
+    @Autowired
+    private VenueDetailCache venueDetailCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Places an order in one transaction: lock and validate the venues, insert the
+     * order, batch-insert its items and retire the sold venues with one UPDATE.
+     * Notifications and emails are published as an {@link OrderPlacedEvent} and only
+     * run after commit, so a failed checkout leaves nothing behind.
+     */
+    @Transactional
+    public Order checkout(CheckoutRequest request) {
+        List<CheckoutRequest.Item> items = request.getItems() != null ? request.getItems() : List.of();
+        if (items.isEmpty()) {
+            throw new BadRequestException("Order has no items");
+        }
+
+        // 1️⃣ Lock and validate every venue in the cart with one query
+        Set<Long> venueIds = items.stream()
+                .map(CheckoutRequest.Item::getVenueId)
+                .filter(id -> id != null)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, Venue> venues = venueIds.isEmpty()
+                ? Map.of()
+                : venueRepo.findAllByIdForUpdate(venueIds).stream()
+                        .collect(Collectors.toMap(Venue::getVenue_id, Function.identity()));
+
+        List<Long> unavailable = new ArrayList<>();
+        for (Long venueId : venueIds) {
+            Venue venue = venues.get(venueId);
+            if (venue == null || "inactive".equalsIgnoreCase(venue.getStatus())) {
+                unavailable.add(venueId);
+            }
+        }
+        if (!unavailable.isEmpty()) {
+            throw new BadRequestException("Some items are no longer available: " + unavailable);
+        }
+
+        // 2️⃣ Create order (eSewa orders get their transaction id up front, no second save)
+        Order order = new Order();
+        order.setUserId(request.getUserId());
+        order.setUserEmail(request.getUserEmail());
+        order.setPaymentMethod(request.getPaymentMethod());
+        order.setStatus("COD".equalsIgnoreCase(request.getPaymentMethod()) ? "Pending" : "Payment Pending");
+        order.setTotalAmount(request.getTotalAmount());
+        order.setAddress(request.getAddress());
+        if (!"COD".equalsIgnoreCase(request.getPaymentMethod())) {
+            order.setTransactionUuid(UUID.randomUUID().toString());
+        }
+        Order savedOrder = orderRepo.save(order);
+
+        // 3️⃣ Batch-insert order items
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, items, items.size(), (ps, item) -> {
+            ps.setLong(1, savedOrder.getOrderId());
+            ps.setObject(2, item.getProductId(), Types.BIGINT);
+            ps.setObject(3, item.getVenueId(), Types.BIGINT);
+            ps.setInt(4, item.getQuantity());
+            ps.setBigDecimal(5, item.getPrice());
+        });
+
+        // 4️⃣ Remove sold venues from the listing in one statement
+        if (!venueIds.isEmpty()) {
+            venueRepo.markInactive(venueIds);
+            // Bulk updates skip entity listeners, so tell the search index and detail cache directly
+            venueSearchService.venuesChanged(venueIds);
+            venueDetailCache.invalidateAll(venueIds);
+        }
+
+        // 5️⃣ Side effects run after commit
+        Long firstVenueId = venueIds.isEmpty() ? null : venueIds.iterator().next();
+        String firstVenueName = firstVenueId != null ? venues.get(firstVenueId).getVenueName() : "Venue";
+        eventPublisher.publishEvent(new OrderPlacedEvent(savedOrder, firstVenueId, firstVenueName));
+
+        return savedOrder;
+    }
+}
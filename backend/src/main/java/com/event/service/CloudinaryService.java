@@ -2,19 +2,118 @@ package com.event.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.event.config.OutboundMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class CloudinaryService {
 
+    private static final Logger log = LoggerFactory.getLogger(CloudinaryService.class);
+
     @Autowired
     private Cloudinary cloudinary;
 
+    @Autowired
+    private OutboundMetrics outboundMetrics;
+
+    @Value("${cloudinary.upload.parallelism:4}")
+    private int uploadParallelism;
+
+    // Bounded pool shared by all multi-image uploads
+    private ExecutorService uploadPool;
+
+    @PostConstruct
+    void start() {
+        uploadPool = Executors.newFixedThreadPool(Math.max(1, uploadParallelism), r -> {
+            Thread t = new Thread(r, "cloudinary-upload");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        uploadPool.shutdown();
+    }
+
+    /**
+     * Uploads a multipart file without reading it into memory: transferTo streams the part
+     * into a temp file and the SDK streams that file to Cloudinary.
+     */
+    public Map<?, ?> upload(MultipartFile file, Map<String, Object> options) throws IOException {
+        Path tempFile = Paths.get(System.getProperty("java.io.tmpdir"), "upload-" + UUID.randomUUID());
+        try {
+            file.transferTo(tempFile);
+            return outboundMetrics.time("cloudinary", "upload",
+                    () -> cloudinary.uploader().upload(tempFile.toFile(), options));
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Uploads several files to the same folder in parallel and returns their URLs in input order.
+     * Empty parts are ignored. When {@code skipFailed} is false the first failure is rethrown once
+     * every upload has finished; otherwise failed files are logged and left out.
+     */
+    public List<String> uploadFiles(MultipartFile[] files, String folder, boolean skipFailed) throws IOException {
+        List<CompletableFuture<String>> uploads = new ArrayList<>();
+        for (MultipartFile file : files) {
+            if (file.isEmpty()) {
+                continue;
+            }
+            uploads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return uploadFile(file, folder);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, uploadPool));
+        }
+
+        List<String> urls = new ArrayList<>();
+        IOException failure = null;
+        for (CompletableFuture<String> upload : uploads) {
+            try {
+                urls.add(upload.join());
+            } catch (CompletionException e) {
+                IOException cause = e.getCause() instanceof IOException io
+                        ? io
+                        : new IOException("Failed to upload file to Cloudinary", e.getCause());
+                if (skipFailed) {
+                    log.warn("Skipping failed upload: {}", cause.getMessage());
+                } else if (failure == null) {
+                    failure = cause;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return urls;
+    }
+
     /**
      * Generic method to upload any file to Cloudinary under a given folder
      */
@@ -48,7 +147,7 @@ public String uploadFile(MultipartFile file, String folder) throws IOException {
         //     throw new IOException("File is empty");
         // }
 
-        System.out.println("Uploading file to Cloudinary: " + file.getOriginalFilename());
+        log.debug("Uploading {} to Cloudinary folder {}", file.getOriginalFilename(), folder);
 
         try {
             Map<String, Object> options = ObjectUtils.asMap(
@@ -57,13 +156,13 @@ public String uploadFile(MultipartFile file, String folder) throws IOException {
                     "transformation", "f_auto,q_auto"
             );
 
-            Map<?, ?> result = cloudinary.uploader().upload(file.getBytes(), options);
+            Map<?, ?> result = upload(file, options);
 
-            System.out.println(result.get("secure_url") + " Secure URL from Cloudinary");
+            log.debug("Uploaded {} as {}", file.getOriginalFilename(), result.get("public_id"));
             return (String) result.get("secure_url");
 
         } catch (IOException e) {
-            System.out.println("Failed to upload file: " + file.getOriginalFilename());
+            log.warn("Failed to upload {}: {}", file.getOriginalFilename(), e.getMessage());
             throw new IOException("Failed to upload file to Cloudinary", e);
         }
     }
@@ -104,10 +203,11 @@ public String uploadFile(MultipartFile file, String folder) throws IOException {
         if (publicId == null || publicId.isEmpty()) return false;
 
         try {
-            Map<?, ?> result = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            Map<?, ?> result = outboundMetrics.time("cloudinary", "destroy",
+                    () -> cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap()));
             return "ok".equals(result.get("result"));
         } catch (IOException e) {
-            e.printStackTrace();
+            log.warn("Failed to delete Cloudinary image {}: {}", publicId, e.getMessage());
             return false;
         }
     }
@@ -0,0 +1,234 @@
+package com.event.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.event.config.OutboundMetrics;
+import com.event.model.EmailOutbox;
+import com.event.model.EmailStatus;
+import com.event.repository.EmailOutboxRepo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Drains the email outbox on a small worker pool. Each worker claims a batch of due
+ * rows and sends them over a single SMTP session; failures are retried with
+ * exponential backoff until {@code mail.outbox.max-attempts} is reached.
+ *
+ * Bodies carry OTPs and reset codes, so they are cleared once a row is SENT or FAILED and
+ * finished rows are purged on a schedule.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    @Autowired
+    private EmailOutboxRepo outboxRepo;
+
+    @Autowired
+    private OutboundMetrics outboundMetrics;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Value("${mail.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mail.outbox.workers:2}")
+    private int workers;
+
+    @Value("${mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.base-backoff-ms:30000}")
+    private long baseBackoffMs;
+
+    @Value("${mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    // A claimed batch that has not finished within this window is handed out again
+    @Value("${mail.outbox.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    @Value("${mail.outbox.failed-retention-days:7}")
+    private int failedRetentionDays;
+
+    private ExecutorService workerPool;
+    private Semaphore inFlight;
+
+    @PostConstruct
+    void start() {
+        workerPool = Executors.newFixedThreadPool(Math.max(1, workers), r -> {
+            Thread t = new Thread(r, "email-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+        inFlight = new Semaphore(Math.max(1, workers));
+    }
+
+    @PreDestroy
+    void stop() {
+        workerPool.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+    public void drain() {
+        if (!enabled) return;
+
+        while (inFlight.tryAcquire()) {
+            List<EmailOutbox> batch;
+            try {
+                batch = claimBatch();
+            } catch (RuntimeException e) {
+                inFlight.release();
+                log.error("Failed to claim email batch", e);
+                return;
+            }
+            if (batch.isEmpty()) {
+                inFlight.release();
+                return;
+            }
+            workerPool.execute(() -> {
+                try {
+                    deliver(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return new TransactionTemplate(txManager).execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = outboxRepo.findDueForUpdate(
+                    EmailStatus.PENDING, EmailStatus.SENDING,
+                    now, now.minusNanos(claimTimeoutMs * 1_000_000L),
+                    PageRequest.of(0, batchSize));
+            for (EmailOutbox email : due) {
+                email.setStatus(EmailStatus.SENDING);
+                email.setLockedAt(now);
+            }
+            return outboxRepo.saveAll(due);
+        });
+    }
+
+    private void deliver(List<EmailOutbox> batch) {
+        Map<SimpleMailMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(email.getRecipient());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            byMessage.put(message, email);
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        try {
+            // One connection for the whole batch
+            outboundMetrics.time("smtp", "send", () -> {
+                mailSender.send(byMessage.keySet().toArray(new SimpleMailMessage[0]));
+                return null;
+            });
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                byMessage.keySet().forEach(m -> failures.put(m, e));
+            } else {
+                failures.putAll(e.getFailedMessages());
+            }
+        } catch (MailException e) {
+            byMessage.keySet().forEach(m -> failures.put(m, e));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> updated = new ArrayList<>(batch.size());
+        for (Map.Entry<SimpleMailMessage, EmailOutbox> entry : byMessage.entrySet()) {
+            EmailOutbox email = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+            email.setLockedAt(null);
+            if (failure == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                email.setBody(null);
+            } else {
+                recordFailure(email, failure, now);
+            }
+            updated.add(email);
+        }
+
+        try {
+            new TransactionTemplate(txManager).executeWithoutResult(status -> outboxRepo.saveAll(updated));
+        } catch (RuntimeException e) {
+            // Rows stay SENDING and are reclaimed after the claim timeout
+            log.error("Failed to record email delivery results", e);
+        }
+
+        if (!failures.isEmpty()) {
+            log.warn("{} of {} emails failed, will retry", failures.size(), batch.size());
+        }
+    }
+
+    // SENT rows go on the next run; FAILED ones are kept for a while to investigate
+    @Scheduled(fixedDelayString = "${mail.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        if (!enabled) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            int[] purged = new TransactionTemplate(txManager).execute(status -> new int[] {
+                    outboxRepo.deleteByStatusCreatedBefore(EmailStatus.SENT, now),
+                    outboxRepo.deleteByStatusCreatedBefore(EmailStatus.FAILED, now.minusDays(failedRetentionDays)) });
+            if (purged[0] + purged[1] > 0) {
+                log.info("Purged {} sent and {} failed emails from the outbox", purged[0], purged[1]);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to purge the email outbox", e);
+        }
+    }
+
+    private void recordFailure(EmailOutbox email, Exception failure, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        String message = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+        email.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailStatus.FAILED);
+            email.setBody(null);
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempts - 1, 20));
+        email.setStatus(EmailStatus.PENDING);
+        email.setNextAttemptAt(now.plusNanos(backoff * 1_000_000L));
+    }
+}
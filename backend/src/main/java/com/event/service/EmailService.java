@@ -3,11 +3,11 @@ package com.event.service;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import com.event.model.Attendee;
+import com.event.model.EmailOutbox;
+import com.event.repository.EmailOutboxRepo;
 
 import com.event.model.Donation;
 import com.event.model.Program;
@@ -17,16 +17,17 @@ import com.event.model.Partner;
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxRepo outboxRepo;
 
+    // Queues the email in the outbox; EmailDispatcher delivers it in the background.
+    // When called inside a transaction the email is only sent if that transaction commits.
     public void sendEmail(String to, String subject, String text) {
         if (to == null || to.isBlank()) return; // skip if email is null
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(text);
-        mailSender.send(message);
-        System.out.println("✅ Email sent to " + to + " | Subject: " + subject);
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(text);
+        outboxRepo.save(email);
     }
 
     // ---------------- SEND DONATION EMAILS ----------------
@@ -87,13 +88,8 @@ public class EmailService {
     
     
     public void sendOtpEmail(String toEmail, String otp) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(toEmail);
-        message.setSubject("Your OTP Code");
-        message.setText("Your OTP for signup is: " + otp + "\nIt will expire in 5 minutes.");
-        message.setFrom("your_email@gmail.com"); // must match your spring.mail.username
-
-        mailSender.send(message);
+        sendEmail(toEmail, "Your OTP Code",
+                "Your OTP for signup is: " + otp + "\nIt will expire in 5 minutes.");
     }
     
 }
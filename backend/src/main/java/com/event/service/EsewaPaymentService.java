@@ -1,24 +1,38 @@
 package com.event.service;
 
+import com.event.config.OutboundMetrics;
+import com.event.config.RestTemplateConfig;
 import com.event.dto.EsewaPaymentRequest;
 import com.event.dto.EsewaStatusResponse;
 import com.event.model.Order;
 import com.event.repository.OrderRepo;
 import com.event.util.SignatureUtil;  // Changed import
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class EsewaPaymentService {
+
+    private static final Logger log = LoggerFactory.getLogger(EsewaPaymentService.class);
     
     @Value("${esewa.product.code}")
     private String productCode;
@@ -37,9 +51,38 @@ public class EsewaPaymentService {
     
     @Autowired
     private OrderRepo orderRepo;
+
+    @Autowired
+    private OutboundMetrics outboundMetrics;
     
     @Autowired
+    @Qualifier(RestTemplateConfig.GATEWAY_REST_TEMPLATE)
     private RestTemplate restTemplate;
+
+    // "async" acknowledges the success redirect at once and confirms in the background; "sync" waits
+    @Value("${esewa.verification.mode:async}")
+    private String verificationMode;
+
+    @Value("${esewa.verification.max-attempts:5}")
+    private int maxVerifyAttempts;
+
+    @Value("${esewa.verification.backoff-ms:2000}")
+    private long verifyBackoffMs;
+
+    @Value("${esewa.verification.threads:2}")
+    private int verifyThreads;
+
+    private ScheduledExecutorService verifier;
+
+    @PostConstruct
+    void startVerifier() {
+        verifier = Executors.newScheduledThreadPool(verifyThreads);
+    }
+
+    @PreDestroy
+    void stopVerifier() {
+        verifier.shutdown();
+    }
     
     // Remove this autowired field and use static method directly
     // @Autowired
@@ -48,8 +91,6 @@ public class EsewaPaymentService {
     @Transactional
     public EsewaPaymentRequest initiatePayment(Long orderId) {
         try {
-            System.out.println("Initiating payment for order ID: " + orderId);
-            
             Order order = orderRepo.findById(orderId)
                     .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
             
@@ -60,10 +101,6 @@ public class EsewaPaymentService {
             String totalAmount = order.getTotalAmount().setScale(2).toString();
             String amount = totalAmount;
             
-            System.out.println("Order Amount: " + totalAmount);
-            System.out.println("Transaction UUID: " + transactionUuid);
-            System.out.println("Product Code: " + productCode);
-            
             // Update order with transaction details
             order.setTransactionUuid(transactionUuid);
             order.setPaymentMethod("ESEWA");
@@ -88,74 +125,132 @@ public class EsewaPaymentService {
             request.setSignature(signature);
             request.setOrderId(order.getOrderId());
             
-            System.out.println("Created eSewa payment request: " + request);
+            // The request carries the signature, so only the identifiers are logged
+            log.debug("Created eSewa payment request for order {} (transaction {}, amount {})",
+                    orderId, transactionUuid, totalAmount);
             
             return request;
             
         } catch (Exception e) {
-            System.err.println("Error initiating payment: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error initiating eSewa payment for order {}", orderId, e);
             throw new RuntimeException("Failed to initiate eSewa payment: " + e.getMessage(), e);
         }
     }
     
-    @Transactional
+    public boolean isAsyncVerification() {
+        return "async".equalsIgnoreCase(verificationMode);
+    }
+
+    /** Checks the transaction with eSewa once and marks the order paid if it is complete. */
     public boolean verifyPayment(String transactionUuid, String totalAmount) {
         try {
-            System.out.println("Verifying payment for transaction: " + transactionUuid);
-            
-            // Find order by transaction UUID
-            Order order = orderRepo.findByTransactionUuid(transactionUuid)
-                    .orElseThrow(() -> new RuntimeException("Order not found for transaction: " + transactionUuid));
-            
-            // Prepare verification request
-            Map<String, String> verificationRequest = new HashMap<>();
-            verificationRequest.put("product_code", productCode);
-            verificationRequest.put("total_amount", totalAmount);
-            verificationRequest.put("transaction_uuid", transactionUuid);
-            
-            // Generate signature for verification using static method
-            String message = String.format("total_amount=%s,transaction_uuid=%s,product_code=%s",
-                    totalAmount, transactionUuid, productCode);
-            String signature = SignatureUtil.generateSignature(message);
-            verificationRequest.put("signature", signature);
-            
-            // Call eSewa verification API
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, String>> entity = new HttpEntity<>(verificationRequest, headers);
-            
-            ResponseEntity<EsewaStatusResponse> response = restTemplate.exchange(
-                    verificationUrl,
-                    HttpMethod.POST,
-                    entity,
-                    EsewaStatusResponse.class
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                EsewaStatusResponse statusResponse = response.getBody();
-                
-                System.out.println("Verification response: " + statusResponse.getStatus());
-                
-                if ("COMPLETE".equalsIgnoreCase(statusResponse.getStatus())) {
-                    // Update order status
-                    order.setStatus("Paid");
-                    order.setPaymentMethod("ESEWA");
-                    orderRepo.save(order);
-                    
-                    return true;
-                }
+            if (orderRepo.findByTransactionUuid(transactionUuid).isEmpty()) {
+                throw new RuntimeException("Order not found for transaction: " + transactionUuid);
             }
-            
-            return false;
-            
+
+            String status = fetchStatus(transactionUuid, totalAmount);
+            log.debug("eSewa status for transaction {}: {}", transactionUuid, status);
+            return "COMPLETE".equalsIgnoreCase(status) && markPaid(transactionUuid);
+
         } catch (Exception e) {
-            System.err.println("Error verifying payment: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error verifying eSewa payment for transaction {}: {}", transactionUuid, e.getMessage());
             return false;
         }
     }
-    
+
+    /**
+     * Confirms the payment in the background so the success redirect can answer at once.
+     * Gateway errors, timeouts and PENDING/AMBIENT answers are retried with exponential backoff;
+     * anything still unconfirmed afterwards stays "Payment Pending" for reconciliation.
+     * Returns false if no order has this transaction.
+     */
+    public boolean verifyPaymentAsync(String transactionUuid, String totalAmount) {
+        if (orderRepo.findByTransactionUuid(transactionUuid).isEmpty()) {
+            log.warn("Order not found for transaction {}", transactionUuid);
+            return false;
+        }
+        verifier.execute(() -> attemptVerification(transactionUuid, totalAmount, 1));
+        return true;
+    }
+
+    private void attemptVerification(String transactionUuid, String totalAmount, int attempt) {
+        String status;
+        try {
+            status = fetchStatus(transactionUuid, totalAmount);
+        } catch (RestClientException e) {
+            log.warn("eSewa verification attempt {} for {} failed: {}", attempt, transactionUuid, e.getMessage());
+            retryVerification(transactionUuid, totalAmount, attempt);
+            return;
+        }
+
+        if ("COMPLETE".equalsIgnoreCase(status)) {
+            try {
+                markPaid(transactionUuid);
+            } catch (RuntimeException e) {
+                // The gateway has the money but the order was not saved; markPaid is idempotent, so retry
+                log.warn("Could not mark transaction {} paid on attempt {}", transactionUuid, attempt, e);
+                retryVerification(transactionUuid, totalAmount, attempt);
+                return;
+            }
+            log.info("eSewa payment confirmed for transaction {}", transactionUuid);
+        } else if (status == null || "PENDING".equalsIgnoreCase(status) || "AMBIENT".equalsIgnoreCase(status)) {
+            retryVerification(transactionUuid, totalAmount, attempt);
+        } else {
+            log.info("eSewa reported {} for transaction {}", status, transactionUuid);
+        }
+    }
+
+    private void retryVerification(String transactionUuid, String totalAmount, int attempt) {
+        if (attempt >= maxVerifyAttempts) {
+            log.error("Giving up on eSewa verification for {} after {} attempts", transactionUuid, attempt);
+            return;
+        }
+        long delay = verifyBackoffMs << (attempt - 1);
+        verifier.schedule(() -> attemptVerification(transactionUuid, totalAmount, attempt + 1),
+                delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * One status call to eSewa; returns its status (COMPLETE, PENDING, NOT_FOUND, ...) or null.
+     * No transaction or connection is held while waiting on the gateway.
+     *
+     * @throws RestClientException on gateway errors and timeouts
+     */
+    public String fetchStatus(String transactionUuid, String totalAmount) {
+        Map<String, String> verificationRequest = new HashMap<>();
+        verificationRequest.put("product_code", productCode);
+        verificationRequest.put("total_amount", totalAmount);
+        verificationRequest.put("transaction_uuid", transactionUuid);
+        verificationRequest.put("signature",
+                SignatureUtil.generateEsewaSignature(totalAmount, transactionUuid, productCode));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, String>> entity = new HttpEntity<>(verificationRequest, headers);
+
+        ResponseEntity<EsewaStatusResponse> response = outboundMetrics.time("esewa", "status",
+                () -> restTemplate.exchange(
+                        verificationUrl,
+                        HttpMethod.POST,
+                        entity,
+                        EsewaStatusResponse.class
+                ));
+        return response.getBody() != null ? response.getBody().getStatus() : null;
+    }
+
+    private boolean markPaid(String transactionUuid) {
+        return orderRepo.findByTransactionUuid(transactionUuid)
+                .map(order -> {
+                    if (!"Paid".equalsIgnoreCase(order.getStatus())) {
+                        order.setStatus("Paid");
+                        order.setPaymentMethod("ESEWA");
+                        orderRepo.save(order);
+                    }
+                    return true;
+                })
+                .orElse(false);
+    }
+
     public Map<String, String> getEsewaPaymentFormData(EsewaPaymentRequest request) {
         Map<String, String> formData = new HashMap<>();
         formData.put("amount", request.getAmount());
@@ -1,6 +1,5 @@
 package com.event.service;
 
-import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,7 +13,7 @@ import java.util.UUID;
 public class FileStorageService {
 
     @Autowired
-    private Cloudinary cloudinary;
+    private CloudinaryService cloudinaryService;
 
     /**
      * Uploads a program image to Cloudinary.
@@ -58,7 +57,7 @@ public class FileStorageService {
 
         String publicId = folder + "/" + UUID.randomUUID().toString();
 
-        Map uploadResult = cloudinary.uploader().upload(file.getBytes(),
+        Map uploadResult = cloudinaryService.upload(file,
                 ObjectUtils.asMap(
                         "folder", folder,
                         "public_id", publicId,
@@ -79,8 +78,7 @@ public class FileStorageService {
             String publicId = fileUrl.substring(fileUrl.indexOf("upload/") + 7);
             publicId = publicId.substring(0, publicId.lastIndexOf("."));
 
-            Map result = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
-            return "ok".equals(result.get("result"));
+            return cloudinaryService.deleteImage(publicId);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
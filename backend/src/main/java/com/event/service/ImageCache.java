@@ -0,0 +1,302 @@
+package com.event.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Two-level cache for remote images served by the image proxy.
+ *
+ * Small images stay in an in-heap LRU bounded by total bytes; every fetched image is also written
+ * to a directory on disk, which is bounded by total size and pruned oldest-first. Entries are keyed
+ * by the source URL, so a venue that switches to a new image URL simply misses once. Concurrent
+ * misses for the same URL share a single download.
+ */
+@Component
+public class ImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageCache.class);
+
+    private static final String DATA_SUFFIX = ".img";
+    private static final String META_SUFFIX = ".meta";
+
+    @Value("${proxy.image-cache.dir:${java.io.tmpdir}/thrift-image-cache}")
+    private String cacheDir;
+
+    @Value("${proxy.image-cache.memory-max-bytes:33554432}")
+    private long memoryMaxBytes;
+
+    @Value("${proxy.image-cache.memory-max-entry-bytes:262144}")
+    private long memoryMaxEntryBytes;
+
+    @Value("${proxy.image-cache.disk-max-bytes:536870912}")
+    private long diskMaxBytes;
+
+    private Path root;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedImage> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final Map<String, CompletableFuture<CachedImage>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(cacheDir);
+        Files.createDirectories(root);
+
+        long total = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "*" + DATA_SUFFIX)) {
+            for (Path file : files) {
+                total += Files.size(file);
+            }
+        }
+        diskBytes.set(total);
+        log.info("Image cache at {} ({} bytes on disk)", root, total);
+    }
+
+    public CachedImage get(String url) throws IOException {
+        String key = sha256(url.getBytes(StandardCharsets.UTF_8));
+
+        CachedImage cached = fromMemory(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        cached = fromDisk(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Only the caller that registers the future downloads; the rest wait on it
+        CompletableFuture<CachedImage> download = new CompletableFuture<>();
+        CompletableFuture<CachedImage> existing = inFlight.putIfAbsent(key, download);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            CachedImage image = fetchAndStore(key, url);
+            download.complete(image);
+            return image;
+        } catch (IOException | RuntimeException e) {
+            download.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    private CachedImage fromMemory(String key) {
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    private CachedImage fromDisk(String key) throws IOException {
+        Path data = root.resolve(key + DATA_SUFFIX);
+        Path meta = root.resolve(key + META_SUFFIX);
+        if (!Files.exists(data) || !Files.exists(meta)) {
+            return null;
+        }
+
+        List<String> lines = Files.readAllLines(meta, StandardCharsets.UTF_8);
+        if (lines.size() < 2) {
+            return null;
+        }
+        String contentType = lines.get(0);
+        String etag = lines.get(1);
+        long length = Files.size(data);
+
+        // Hot small images move up to the heap tier; large ones are streamed from the file
+        if (length <= memoryMaxEntryBytes) {
+            CachedImage image = new CachedImage(contentType, etag, Files.readAllBytes(data), null, length);
+            putInMemory(key, image);
+            return image;
+        }
+        return new CachedImage(contentType, etag, null, data, length);
+    }
+
+    private CachedImage fetchAndStore(String key, String url) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        conn.setRequestMethod("GET");
+        conn.setConnectTimeout(5000);
+        conn.setReadTimeout(5000);
+
+        byte[] bytes;
+        String contentType;
+        try (InputStream in = conn.getInputStream()) {
+            bytes = in.readAllBytes();
+            contentType = conn.getContentType() != null ? conn.getContentType() : "application/octet-stream";
+        } finally {
+            conn.disconnect();
+        }
+
+        String etag = sha256(bytes);
+        writeToDisk(key, contentType, etag, bytes);
+
+        CachedImage image = new CachedImage(contentType, etag, bytes, null, bytes.length);
+        if (bytes.length <= memoryMaxEntryBytes) {
+            putInMemory(key, image);
+        }
+        return image;
+    }
+
+    private void writeToDisk(String key, String contentType, String etag, byte[] bytes) {
+        Path data = root.resolve(key + DATA_SUFFIX);
+        Path meta = root.resolve(key + META_SUFFIX);
+        try {
+            // Meta first, data last: a data file is only ever visible once it is complete
+            Path tmpMeta = Files.createTempFile(root, key, ".tmp");
+            Files.write(tmpMeta, List.of(contentType, etag), StandardCharsets.UTF_8);
+            Files.move(tmpMeta, meta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            Path tmpData = Files.createTempFile(root, key, ".tmp");
+            Files.write(tmpData, bytes);
+            Files.move(tmpData, data, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            if (diskBytes.addAndGet(bytes.length) > diskMaxBytes) {
+                pruneDisk();
+            }
+        } catch (IOException e) {
+            // The image is still served from the download; it just is not cached on disk
+            log.warn("Failed to write image cache entry {}", key, e);
+        }
+    }
+
+    // Deletes the least recently written files until the directory is back under 90% of its budget
+    private synchronized void pruneDisk() throws IOException {
+        if (diskBytes.get() <= diskMaxBytes) {
+            return;
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root, "*" + DATA_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparingLong(ImageCache::lastModified));
+
+        long target = diskMaxBytes * 9 / 10;
+        for (Path file : files) {
+            if (diskBytes.get() <= target) {
+                break;
+            }
+            long size = file.toFile().length();
+            String name = file.getFileName().toString();
+            String key = name.substring(0, name.length() - DATA_SUFFIX.length());
+            if (Files.deleteIfExists(file)) {
+                diskBytes.addAndGet(-size);
+            }
+            Files.deleteIfExists(root.resolve(key + META_SUFFIX));
+        }
+    }
+
+    private void putInMemory(String key, CachedImage image) {
+        synchronized (memory) {
+            CachedImage previous = memory.put(key, image);
+            if (previous != null) {
+                memoryBytes -= previous.getLength();
+            }
+            memoryBytes += image.getLength();
+
+            var it = memory.entrySet().iterator();
+            while (memoryBytes > memoryMaxBytes && it.hasNext()) {
+                memoryBytes -= it.next().getValue().getLength();
+                it.remove();
+            }
+        }
+    }
+
+    private static CachedImage await(CompletableFuture<CachedImage> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0; // already gone; sorts first and is skipped
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A cached image: either held in memory ({@code bytes}) or stored in {@code file}.
+     */
+    public static final class CachedImage {
+        private final String contentType;
+        private final String etag;
+        private final byte[] bytes;
+        private final Path file;
+        private final long length;
+
+        CachedImage(String contentType, String etag, byte[] bytes, Path file, long length) {
+            this.contentType = contentType;
+            this.etag = etag;
+            this.bytes = bytes;
+            this.file = file;
+            this.length = length;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public long getLength() {
+            return length;
+        }
+    }
+}
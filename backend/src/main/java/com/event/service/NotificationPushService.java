@@ -0,0 +1,153 @@
+package com.event.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.event.dto.NotificationResponseDTO;
+import com.event.model.NotificationStatus;
+import com.event.model.User;
+import com.event.repository.NotificationRepo;
+import com.event.repository.UserRepo;
+import com.event.util.AfterCommit;
+
+/**
+ * Server-sent event channel for notifications, backed by an in-memory unread counter per user.
+ *
+ * A user's counter is loaded from the database the first time it is asked for and is then kept
+ * up to date by {@link NotificationService}; all updates are applied after the surrounding
+ * transaction commits so a rollback never leaks into the count. The counters live in this JVM,
+ * so every instance behind a load balancer keeps its own.
+ */
+@Component
+public class NotificationPushService {
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    @Autowired
+    private NotificationRepo notificationRepository;
+
+    @Autowired
+    private UserRepo userRepository;
+
+    @Value("${notifications.sse.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private final Map<Long, AtomicLong> unreadCounts = new ConcurrentHashMap<>();
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long userId) {
+        long unread = unreadCount(userId);
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        List<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>());
+        userEmitters.add(emitter);
+
+        Runnable remove = () -> removeEmitter(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        send(userId, emitter, UNREAD_COUNT_EVENT, Map.of("count", unread));
+        return emitter;
+    }
+
+    public long unreadCount(Long userId) {
+        return unreadCounts.computeIfAbsent(userId, id -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("User not found with ID: " + id));
+            return new AtomicLong(notificationRepository.countByRecipientAndStatus(user, NotificationStatus.UNREAD));
+        }).get();
+    }
+
+    /**
+     * Records a new unread notification for the user and pushes it to their open streams.
+     * {@code notification} may be null for rows written without an entity (batch inserts);
+     * only the new count is pushed then.
+     */
+    public void delivered(Long userId, NotificationResponseDTO notification) {
+        AfterCommit.run(() -> {
+            long unread = adjust(userId, 1);
+            if (notification != null) {
+                broadcast(userId, NOTIFICATION_EVENT, notification);
+            }
+            if (unread >= 0) {
+                broadcast(userId, UNREAD_COUNT_EVENT, Map.of("count", unread));
+            }
+        });
+    }
+
+    public void read(Long userId, long count) {
+        AfterCommit.run(() -> {
+            long unread = adjust(userId, -count);
+            if (unread >= 0) {
+                broadcast(userId, UNREAD_COUNT_EVENT, Map.of("count", unread));
+            }
+        });
+    }
+
+    public void cleared(Long userId) {
+        AfterCommit.run(() -> {
+            unreadCounts.put(userId, new AtomicLong());
+            broadcast(userId, UNREAD_COUNT_EVENT, Map.of("count", 0L));
+        });
+    }
+
+    // Keeps idle connections open through proxies and drops the ones that have gone away
+    @Scheduled(fixedDelayString = "${notifications.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    removeEmitter(userId, emitter);
+                }
+            }
+        });
+    }
+
+    // Counters that were never loaded stay unloaded; the next read counts the committed rows. Returns -1 then.
+    private long adjust(Long userId, long delta) {
+        AtomicLong counter = unreadCounts.get(userId);
+        if (counter == null) {
+            return -1;
+        }
+        return counter.updateAndGet(current -> Math.max(0, current + delta));
+    }
+
+    private void broadcast(Long userId, String eventName, Object payload) {
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            send(userId, emitter, eventName, payload);
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, String eventName, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(payload));
+        } catch (IOException | IllegalStateException e) {
+            removeEmitter(userId, emitter);
+        }
+    }
+
+    private void removeEmitter(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
@@ -4,11 +4,16 @@ import com.event.dto.NotificationDTO;
 import com.event.dto.NotificationResponseDTO;
 import com.event.model.*;
 import com.event.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +23,8 @@ import java.util.stream.Collectors;
 @Transactional
 public class NotificationService {
 
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
     @Autowired
     private NotificationRepo notificationRepository;
 
@@ -33,8 +40,25 @@ public class NotificationService {
     @Autowired
     private BookingRepo bookingRepository;
 
+    @Autowired
+    private RoleDirectory roleDirectory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationPushService notificationPushService;
+
+    private static final String INSERT_NOTIFICATION =
+            "INSERT INTO notifications (user_id, sender_user_id, title, message, type, status, booking_id, venue_id, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     // ========== CREATE NOTIFICATIONS ==========
 
+    /**
+     * Notifies the recipient, the partners of the referenced venue and every admin.
+     * Admin copies are written with one batched insert and are not part of the returned list.
+     */
     public List<NotificationResponseDTO> createNotificationsForAllRoles(NotificationDTO notificationDTO) {
         // 1. Get recipient
         User recipient = userRepository.findById(notificationDTO.getRecipientId())
@@ -58,16 +82,14 @@ public class NotificationService {
             notificationsToSave.addAll(createPartnerNotifications(sender, notificationDTO));
         }
 
-        // Admin notifications
-        notificationsToSave.addAll(createAdminNotifications(sender, notificationDTO));
-
         // 5. Save all notifications
         List<Notification> savedNotifications = notificationRepository.saveAll(notificationsToSave);
 
-        // 6. Convert to DTOs
-        return savedNotifications.stream()
-                .map(NotificationResponseDTO::new)
-                .collect(Collectors.toList());
+        // Admin notifications
+        createAdminNotifications(roleDirectory.userIdsWithRoles(RoleDirectory.ROLE_ADMIN_ONLY), sender, notificationDTO);
+
+        // 6. Convert to DTOs and push them to connected recipients
+        return pushAll(savedNotifications);
     }
 
     // ========== RETRIEVE NOTIFICATIONS ==========
@@ -83,11 +105,9 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
+    // Served from the in-memory counter; only the first call per user hits the database
     public Long getUnreadCount(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
-
-        return notificationRepository.countByRecipientAndStatus(user, NotificationStatus.UNREAD);
+        return notificationPushService.unreadCount(userId);
     }
 
     public List<NotificationResponseDTO> getNotificationsByStatus(Long userId, NotificationStatus status) {
@@ -104,11 +124,14 @@ public class NotificationService {
 
     // ========== UPDATE NOTIFICATIONS ==========
 
+    // The unread counter only moves when this call is the one that flipped the row
     public void markAsRead(Long notificationId, Long userId) {
-        Notification notification = getNotificationWithAuthorization(notificationId, userId);
-        notification.setStatus(NotificationStatus.READ);
-        notification.setReadAt(LocalDateTime.now());
-        notificationRepository.save(notification);
+        getNotificationWithAuthorization(notificationId, userId);
+        int flipped = notificationRepository.updateStatusIfCurrent(notificationId, NotificationStatus.READ,
+                LocalDateTime.now(), NotificationStatus.UNREAD);
+        if (flipped == 1) {
+            notificationPushService.read(userId, 1);
+        }
     }
 
     public void markAllAsRead(Long userId) {
@@ -117,13 +140,18 @@ public class NotificationService {
 
         notificationRepository.updateStatusByRecipientAndCurrentStatus(
                 user, NotificationStatus.READ, LocalDateTime.now(), NotificationStatus.UNREAD);
+        notificationPushService.cleared(userId);
     }
 
     // ========== DELETE NOTIFICATIONS ==========
 
     public void deleteNotification(Long notificationId, Long userId) {
         Notification notification = getNotificationWithAuthorization(notificationId, userId);
-        notificationRepository.delete(notification);
+        if (notificationRepository.deleteIfStatus(notificationId, NotificationStatus.UNREAD) == 1) {
+            notificationPushService.read(userId, 1);
+        } else {
+            notificationRepository.delete(notification);
+        }
     }
 
     public void clearAllNotifications(Long userId) {
@@ -131,10 +159,21 @@ public class NotificationService {
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
 
         notificationRepository.deleteByRecipient(user);
+        notificationPushService.cleared(userId);
     }
 
     // ========== PRIVATE HELPER METHODS ==========
 
+    private List<NotificationResponseDTO> pushAll(List<Notification> notifications) {
+        List<NotificationResponseDTO> response = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            NotificationResponseDTO dto = new NotificationResponseDTO(notification);
+            notificationPushService.delivered(notification.getRecipient().getUser_id(), dto);
+            response.add(dto);
+        }
+        return response;
+    }
+
     private User getSender(Long senderId) {
         return (senderId != null) ? userRepository.findById(senderId).orElse(null) : null;
     }
@@ -166,19 +205,34 @@ public class NotificationService {
         return notifications;
     }
 
-    private List<Notification> createAdminNotifications(User sender, NotificationDTO dto) {
-        List<Notification> notifications = new ArrayList<>();
-        List<User> admins = userRepository.findByRole("ROLE_ADMIN");
-
-        for (User admin : admins) {
-            notifications.add(buildNotification(admin, sender, dto));
+    // Admins all get the same message, so the rows go out as one JDBC batch
+    private void createAdminNotifications(List<Long> adminIds, User sender, NotificationDTO dto) {
+        if (adminIds.isEmpty()) {
+            return;
         }
 
-        return notifications;
+        String message = buildMessageForRole("ADMIN", sender, dto);
+        String type = NotificationType.valueOf(dto.getType().toUpperCase()).name();
+        Long senderId = sender != null ? sender.getUser_id() : null;
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, adminIds, adminIds.size(), (ps, adminId) -> {
+            ps.setLong(1, adminId);
+            ps.setObject(2, senderId, Types.BIGINT);
+            ps.setString(3, dto.getTitle());
+            ps.setString(4, message);
+            ps.setString(5, type);
+            ps.setString(6, NotificationStatus.UNREAD.name());
+            ps.setObject(7, dto.getBookingId(), Types.BIGINT);
+            ps.setObject(8, dto.getVenueId(), Types.BIGINT);
+            ps.setTimestamp(9, createdAt);
+        });
+
+        adminIds.forEach(adminId -> notificationPushService.delivered(adminId, null));
     }
 
     private Notification buildNotification(User recipient, User sender, NotificationDTO dto) {
-        String message = buildMessageForRole(recipient, sender, dto);
+        String message = buildMessageForRole(recipient.getRole(), sender, dto);
 
         Notification notification = new Notification();
         notification.setRecipient(recipient);
@@ -194,8 +248,8 @@ public class NotificationService {
         return notification;
     }
 
-    private String buildMessageForRole(User recipient, User sender, NotificationDTO dto) {
-        String role = recipient.getRole();
+    // Package-private for the benchmarks
+    String buildMessageForRole(String role, User sender, NotificationDTO dto) {
         String senderName = sender != null ? sender.getFullname() : "User";
 
         try {
@@ -241,7 +295,7 @@ public class NotificationService {
                 }
             }
         } catch (IllegalArgumentException e) {
-            System.err.println("Invalid notification type: " + dto.getType());
+            log.warn("Invalid notification type: {}", dto.getType());
         }
 
         // Use DTO message if available as fallback
@@ -266,63 +320,53 @@ public class NotificationService {
     public void createOrderNotification(Long userId, Long orderId, BigDecimal totalAmount, Long venueId,
             String venueName) {
         try {
-            System.out.println("🚀 Creating order notifications for order #" + orderId);
+            log.debug("Creating order notifications for order #{}", orderId);
 
             // 1. Get the customer who placed the order
             User customer = userRepository.findById(userId)
                     .orElseThrow(() -> new RuntimeException("Recipient not found with ID: " + userId));
 
-            System.out.println("✅ Customer found: " + customer.getEmail());
+            log.debug("Customer found for order #{}: user {}", orderId, customer.getUser_id());
 
-            // 2. Create notification for CUSTOMER
-            NotificationDTO customerNotification = new NotificationDTO();
-            customerNotification.setRecipientId(userId);
-            customerNotification.setSenderId(userId);
-            customerNotification.setTitle("Order Placed Successfully");
-            customerNotification.setType("ORDER");
-            customerNotification.setMessage("Your order #" + orderId +
+            // 2. Create notification for CUSTOMER and the venue's partners
+            NotificationDTO orderNotification = new NotificationDTO();
+            orderNotification.setRecipientId(userId);
+            orderNotification.setSenderId(userId);
+            orderNotification.setTitle("Order Placed Successfully");
+            orderNotification.setType("ORDER");
+            orderNotification.setMessage("Your order #" + orderId +
                     " has been placed successfully. Total: NPR " + totalAmount);
-            customerNotification.setBookingId(orderId);
-            customerNotification.setTotalAmount(totalAmount);
-            customerNotification.setVenueId(venueId);
-            customerNotification.setVenueName(venueName);
-
-            // Create notification for customer
-            createNotificationsForAllRoles(customerNotification);
-
-            System.out.println("✅ Customer notification created for order #" + orderId);
-
-            // 3. Create notifications for ALL ADMIN users
-            List<User> allUsers = userRepository.findAll();
-            for (User user : allUsers) {
-                if (user.getRole() != null &&
-                        (user.getRole().equalsIgnoreCase("ADMIN") ||
-                                user.getRole().equalsIgnoreCase("ROLE_ADMIN"))
-                        &&
-                        !user.getUser_id().equals(userId)) {
-
-                    NotificationDTO adminNotification = new NotificationDTO();
-                    adminNotification.setRecipientId(user.getUser_id());
-                    adminNotification.setSenderId(userId);
-                    adminNotification.setTitle("📦 New Order Received");
-                    adminNotification.setType("ORDER");
-                    adminNotification.setBookingId(orderId);
-                    adminNotification.setTotalAmount(totalAmount);
-                    adminNotification.setVenueId(venueId);
-                    adminNotification.setVenueName(venueName);
-
-                    // Build the message with all details
-                    String adminMessage = String.format(
-                            "New order #%d placed by %s | Venue: %s | Amount: NPR %s",
-                            orderId, customer.getFullname(), venueName, totalAmount);
-                    adminNotification.setMessage(adminMessage);
-
-                    createNotificationsForAllRoles(adminNotification);
-                }
+            orderNotification.setBookingId(orderId);
+            orderNotification.setTotalAmount(totalAmount);
+            orderNotification.setVenueId(venueId);
+            orderNotification.setVenueName(venueName);
+
+            List<Notification> notificationsToSave = new ArrayList<>();
+            notificationsToSave.add(buildNotification(customer, customer, orderNotification));
+            if (venueId != null) {
+                notificationsToSave.addAll(createPartnerNotifications(customer, orderNotification));
             }
+            pushAll(notificationRepository.saveAll(notificationsToSave));
+
+            log.debug("Customer notification created for order #{}", orderId);
+
+            // 3. One notification per ADMIN user, written in a single batch
+            NotificationDTO adminNotification = new NotificationDTO();
+            adminNotification.setSenderId(userId);
+            adminNotification.setTitle("📦 New Order Received");
+            adminNotification.setType("ORDER");
+            adminNotification.setBookingId(orderId);
+            adminNotification.setTotalAmount(totalAmount);
+            adminNotification.setVenueId(venueId);
+            adminNotification.setVenueName(venueName);
+
+            List<Long> adminIds = roleDirectory.userIdsWithRoles(RoleDirectory.ADMIN_ROLES).stream()
+                    .filter(adminId -> !adminId.equals(userId))
+                    .collect(Collectors.toList());
+            createAdminNotifications(adminIds, customer, adminNotification);
 
         } catch (Exception e) {
-            System.err.println("❌ Error in createOrderNotification: " + e.getMessage());
+            log.warn("Error in createOrderNotification: {}", e.getMessage());
             throw e;
         }
     }
@@ -330,36 +374,32 @@ public class NotificationService {
     public void createAdminStatusNotification(Long orderId, Long customerId, String customerEmail,
             String oldStatus, String newStatus, String venueName) {
         try {
-            // Get all admin users
-            List<User> admins = userRepository.findByRole("ROLE_ADMIN");
-
-            for (User admin : admins) {
-                NotificationDTO adminNotification = new NotificationDTO();
-                adminNotification.setRecipientId(admin.getUser_id());
-                adminNotification.setSenderId(customerId);
-                adminNotification.setTitle("Order Status Changed");
-                adminNotification.setType("ORDER_STATUS");
-                adminNotification.setMessage(
-                        "Order #" + orderId +
-                                " status changed from '" + oldStatus +
-                                "' to '" + newStatus + "'" +
-                                "\nCustomer: " + customerEmail +
-                                "\nVenue: " + venueName);
-                adminNotification.setBookingId(orderId);
-
-                createNotificationsForAllRoles(adminNotification);
-            }
-
-            System.out.println("✅ Admin status notifications sent for order #" + orderId);
+            NotificationDTO adminNotification = new NotificationDTO();
+            adminNotification.setSenderId(customerId);
+            adminNotification.setTitle("Order Status Changed");
+            adminNotification.setType("ORDER_STATUS");
+            adminNotification.setMessage(
+                    "Order #" + orderId +
+                            " status changed from '" + oldStatus +
+                            "' to '" + newStatus + "'" +
+                            "\nCustomer: " + customerEmail +
+                            "\nVenue: " + venueName);
+            adminNotification.setBookingId(orderId);
+
+            // One row per admin in a single batch
+            createAdminNotifications(roleDirectory.userIdsWithRoles(RoleDirectory.ROLE_ADMIN_ONLY),
+                    getSender(customerId), adminNotification);
+
+            log.debug("Admin status notifications sent for order #{}", orderId);
         } catch (Exception e) {
-            System.err.println("❌ Error creating admin status notification: " + e.getMessage());
+            log.warn("Error creating admin status notification: {}", e.getMessage());
         }
     }
 
     public void createOrderStatusNotification(Long userId, Long orderId, String status, Long venueId,
             String venueName) {
         try {
-            System.out.println("🚀 Creating status notification for order #" + orderId + " - Status: " + status);
+            log.debug("Creating status notification for order #{} - status {}", orderId, status);
 
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
@@ -405,17 +445,16 @@ public class NotificationService {
             // Create notification
             createNotificationsForAllRoles(notificationDTO);
 
-            System.out.println("✅ Status notification created for order #" + orderId);
+            log.debug("Status notification created for order #{}", orderId);
         } catch (Exception e) {
-            System.err.println("❌ Error creating status notification: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating status notification for order #{}", orderId, e);
             throw e;
         }
     }
 
     public void createDonationNotification(Donation donation, Long userId) {
         try {
-            System.out.println("🚀 Creating donation notifications for donation ID: " + donation.getDonationId());
+            log.debug("Creating donation notifications for donation {}", donation.getDonationId());
 
             // 1. Create notification for DONOR (User)
             NotificationDTO donorNotification = new NotificationDTO();
@@ -427,7 +466,7 @@ public class NotificationService {
                     "The donation is in process. Thank you for the donation, our team will contact you for the pick up");
 
             createNotificationsForAllRoles(donorNotification);
-            System.out.println("✅ Donor notification created");
+            log.debug("Donor notification created");
 
             // 2. Create notification for PARTNER
             if (donation.getProgram() != null && donation.getProgram().getPartner() != null) {
@@ -450,12 +489,11 @@ public class NotificationService {
                                     pickupLocation));
 
                     createNotificationsForAllRoles(partnerNotification);
-                    System.out.println("✅ Partner notification created for user ID: " + partner.getUser_id());
+                    log.debug("Partner notification created for user {}", partner.getUser_id());
                 }
             }
         } catch (Exception e) {
-            System.err.println("❌ Error creating donation notification: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating donation notification", e);
         }
     }
 
@@ -494,7 +532,7 @@ public class NotificationService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error creating assigned donation notification: " + e.getMessage());
+            log.warn("Error creating assigned donation notification: {}", e.getMessage());
         }
     }
 
@@ -517,7 +555,7 @@ public class NotificationService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error creating donation status notification: " + e.getMessage());
+            log.warn("Error creating donation status notification: {}", e.getMessage());
         }
     }
 
@@ -532,7 +570,7 @@ public class NotificationService {
                     .format("Admin has requested payment of NPR %.2f for your assigned donation pickups.", amount));
             createNotificationsForAllRoles(notif);
         } catch (Exception e) {
-            System.err.println("Error creating payment request notification: " + e.getMessage());
+            log.warn("Error creating payment request notification: {}", e.getMessage());
         }
     }
 
@@ -541,20 +579,16 @@ public class NotificationService {
             User partner = userRepository.findById(partnerId).orElse(null);
             String partnerName = (partner != null) ? partner.getFullname() : "A partner";
 
-            List<User> admins = userRepository.findByRole("ROLE_ADMIN");
-            for (User admin : admins) {
-                NotificationDTO notif = new NotificationDTO();
-                notif.setRecipientId(admin.getUser_id());
-                notif.setSenderId(partnerId);
-                notif.setTitle("💰 Payment Received for Pickup Fees");
-                notif.setType("ORDER_STATUS");
-                notif.setMessage(
-                        String.format("%s has marked NPR %.2f as PAID for pickup fees. Please verify and settle.",
-                                partnerName, amount));
-                createNotificationsForAllRoles(notif);
-            }
+            NotificationDTO notif = new NotificationDTO();
+            notif.setSenderId(partnerId);
+            notif.setTitle("💰 Payment Received for Pickup Fees");
+            notif.setType("ORDER_STATUS");
+            notif.setMessage(
+                    String.format("%s has marked NPR %.2f as PAID for pickup fees. Please verify and settle.",
+                            partnerName, amount));
+            createAdminNotifications(roleDirectory.userIdsWithRoles(RoleDirectory.ROLE_ADMIN_ONLY), partner, notif);
         } catch (Exception e) {
-            System.err.println("Error creating payment sent notification: " + e.getMessage());
+            log.warn("Error creating payment sent notification: {}", e.getMessage());
         }
     }
 
@@ -570,7 +604,7 @@ public class NotificationService {
                     : "Your pickup fee payment was rejected. Please contact Admin for details.");
             createNotificationsForAllRoles(notif);
         } catch (Exception e) {
-            System.err.println("Error creating payment settled notification: " + e.getMessage());
+            log.warn("Error creating payment settled notification: {}", e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.event.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.event.model.Order;
+
+@Component
+public class OrderEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventListener.class);
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EmailService emailService;
+
+    // Runs once the checkout has committed; its own transaction covers the notification inserts
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        Order order = event.getOrder();
+
+        try {
+            notificationService.createOrderNotification(
+                    order.getUserId(),
+                    order.getOrderId(),
+                    order.getTotalAmount(),
+                    event.getVenueId(),
+                    event.getVenueName());
+            log.debug("Order notification sent for order #{}", order.getOrderId());
+        } catch (Exception e) {
+            log.error("Failed to create order notification for order #{}", order.getOrderId(), e);
+        }
+
+        // COD: send confirmation email to customer
+        if ("COD".equalsIgnoreCase(order.getPaymentMethod())) {
+            String customerEmailBody = "Hello " + order.getUserEmail() + ",\n\n" +
+                    "Your order #" + order.getOrderId() +
+                    " has been placed successfully.\n" +
+                    "Total Amount: NPR " + order.getTotalAmount() + "\n" +
+                    "Venue: " + event.getVenueName() + "\n" +
+                    "Payment Method: Cash on Delivery\n" +
+                    "We will contact you soon for delivery.\n\n" +
+                    "Thank you!";
+
+            try {
+                emailService.sendEmail(
+                        order.getUserEmail(),
+                        "Order Placed Successfully - #" + order.getOrderId(),
+                        customerEmailBody);
+            } catch (Exception e) {
+                log.error("Failed to send order email for order #{}", order.getOrderId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.event.service;
+
+import com.event.model.Order;
+
+/**
+ * Published by {@link CheckoutService} once an order and its items are written.
+ * Listeners only see it after the checkout transaction commits.
+ */
+public class OrderPlacedEvent {
+
+    private final Order order;
+    private final Long venueId;
+    private final String venueName;
+
+    public OrderPlacedEvent(Order order, Long venueId, String venueName) {
+        this.order = order;
+        this.venueId = venueId;
+        this.venueName = venueName;
+    }
+
+    public Order getOrder() { return order; }
+    public Long getVenueId() { return venueId; }
+    public String getVenueName() { return venueName; }
+}
@@ -0,0 +1,113 @@
+package com.event.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.event.dto.OrderSummaryDTO;
+
+/**
+ * Admin order listing straight from the orders table: only the columns the listing shows, keyset
+ * pagination on order_id (newest first), and WHERE clauses only for the filters actually given so
+ * MySQL can use the matching index.
+ */
+@Service
+public class OrderQueryService {
+
+    private static final String SELECT_SUMMARY = """
+            SELECT o.order_id, o.user_id, o.user_email, o.status, o.payment_method, o.total_amount, o.created_at,
+                   (SELECT COUNT(*) FROM order_item oi WHERE oi.order_id = o.order_id) AS item_count
+            FROM orders o
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Filters for the admin listing; null fields are ignored. Dates are inclusive. */
+    public record Filter(String status, String paymentMethod, Long userId, String userEmail,
+            LocalDate from, LocalDate to) {
+    }
+
+    /** Up to {@code limit} orders with order_id below {@code beforeOrderId} (all when null). */
+    public List<OrderSummaryDTO> findPage(Filter filter, Long beforeOrderId, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_SUMMARY).append(where(filter, beforeOrderId, args));
+        sql.append(" ORDER BY o.order_id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toSummary(rs), args.toArray());
+    }
+
+    /**
+     * Hands every matching order to {@code sink} as it is read, newest first. The MySQL driver
+     * streams the result set row by row, so memory stays flat however many orders match.
+     */
+    public void stream(Filter filter, Consumer<OrderSummaryDTO> sink) {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT_SUMMARY + where(filter, null, args) + " ORDER BY o.order_id DESC";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> sink.accept(toSummary(rs)));
+    }
+
+    private static String where(Filter filter, Long beforeOrderId, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.status() != null && !filter.status().isBlank()) {
+            conditions.add("o.status = ?");
+            args.add(filter.status());
+        }
+        if (filter.paymentMethod() != null && !filter.paymentMethod().isBlank()) {
+            conditions.add("o.payment_method = ?");
+            args.add(filter.paymentMethod());
+        }
+        if (filter.userId() != null) {
+            conditions.add("o.user_id = ?");
+            args.add(filter.userId());
+        }
+        if (filter.userEmail() != null && !filter.userEmail().isBlank()) {
+            conditions.add("o.user_email = ?");
+            args.add(filter.userEmail().trim());
+        }
+        if (filter.from() != null) {
+            conditions.add("o.created_at >= ?");
+            args.add(Timestamp.valueOf(filter.from().atStartOfDay()));
+        }
+        if (filter.to() != null) {
+            conditions.add("o.created_at < ?");
+            args.add(Timestamp.valueOf(filter.to().plusDays(1).atStartOfDay()));
+        }
+        if (beforeOrderId != null) {
+            conditions.add("o.order_id < ?");
+            args.add(beforeOrderId);
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static OrderSummaryDTO toSummary(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new OrderSummaryDTO(
+                rs.getLong("order_id"),
+                rs.getObject("user_id", Long.class),
+                rs.getString("user_email"),
+                rs.getString("status"),
+                rs.getString("payment_method"),
+                rs.getBigDecimal("total_amount"),
+                createdAt != null ? createdAt.toLocalDateTime() : null,
+                rs.getInt("item_count"));
+    }
+}
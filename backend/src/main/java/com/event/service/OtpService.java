@@ -1,15 +1,194 @@
 package com.event.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import java.util.Random;
 
+/**
+ * Issues and checks one-time codes for signup and password reset without touching the user table.
+ *
+ * Codes live in memory with a TTL and a limit on wrong guesses, and are compared in constant
+ * time. Issuing is rate limited by token buckets per email and per client IP. A code can carry a
+ * payload (the pending signup), handed back only when the code verifies. State is per JVM, so a
+ * code must be verified on the node that issued it (sticky sessions or a single instance).
+ */
 @Service
 public class OtpService {
 
-    // Generate 6-digit OTP
+    public enum Purpose { SIGNUP, PASSWORD_RESET }
+
+    public enum Status { VALID, INVALID, EXPIRED, NOT_FOUND, TOO_MANY_ATTEMPTS }
+
+    public record Verification<T>(Status status, T payload) {
+        public boolean isValid() { return status == Status.VALID; }
+    }
+
+    private static final int CODE_LENGTH = 6;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${otp.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${otp.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${otp.rate-limit.email.capacity:3}")
+    private int emailCapacity;
+
+    @Value("${otp.rate-limit.email.refill-seconds:60}")
+    private long emailRefillSeconds;
+
+    @Value("${otp.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${otp.rate-limit.ip.refill-seconds:6}")
+    private long ipRefillSeconds;
+
+    private final Map<String, PendingCode> codes = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> emailBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+
+    private static final class PendingCode {
+        final byte[] code;
+        final long expiresAt;
+        final Object payload;
+        int attempts;
+
+        PendingCode(byte[] code, long expiresAt, Object payload) {
+            this.code = code;
+            this.expiresAt = expiresAt;
+            this.payload = payload;
+        }
+    }
+
+    /** Classic token bucket: holds up to {@code capacity} tokens, one added every {@code refillMillis}. */
+    private static final class TokenBucket {
+        private final int capacity;
+        private final long refillMillis;
+        private double tokens;
+        private long updatedAt;
+
+        TokenBucket(int capacity, long refillMillis, long now) {
+            this.capacity = capacity;
+            this.refillMillis = refillMillis;
+            this.tokens = capacity;
+            this.updatedAt = now;
+        }
+
+        // Returns 0 when a token was taken, otherwise millis until the next one
+        synchronized long tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * refillMillis);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (double) (now - updatedAt) / refillMillis);
+            updatedAt = now;
+        }
+    }
+
     public String generateOtp() {
-        Random random = new Random();
-        int otp = 100000 + random.nextInt(900000); // ensures 6 digits
-        return String.valueOf(otp);
+        int otp = random.nextInt((int) Math.pow(10, CODE_LENGTH));
+        return String.format("%0" + CODE_LENGTH + "d", otp);
+    }
+
+    /**
+     * Issues a fresh code for the email, replacing any earlier one for the same purpose.
+     *
+     * @throws TooManyRequestsException when the email or client IP is over its rate limit
+     */
+    public String issue(Purpose purpose, String email, String clientIp, Object payload) {
+        long now = System.currentTimeMillis();
+        String normalized = normalize(email);
+
+        long wait = take(ipBuckets, clientIp != null ? clientIp : "unknown", ipCapacity, ipRefillSeconds, now);
+        if (wait == 0) {
+            wait = take(emailBuckets, normalized, emailCapacity, emailRefillSeconds, now);
+        }
+        if (wait > 0) {
+            throw new TooManyRequestsException("Too many OTP requests. Please try again later.",
+                    Math.max(1, (wait + 999) / 1000));
+        }
+
+        String otp = generateOtp();
+        codes.put(key(purpose, normalized),
+                new PendingCode(otp.getBytes(StandardCharsets.US_ASCII), now + ttlSeconds * 1000, payload));
+        return otp;
+    }
+
+    /**
+     * Checks a code. A valid code is consumed; a wrong one counts towards the attempt limit, after
+     * which the code is discarded and a new one has to be requested.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Verification<T> verify(Purpose purpose, String email, String otp) {
+        String key = key(purpose, normalize(email));
+        PendingCode pending = codes.get(key);
+        if (pending == null) {
+            return new Verification<>(Status.NOT_FOUND, null);
+        }
+
+        synchronized (pending) {
+            if (pending.expiresAt < System.currentTimeMillis()) {
+                codes.remove(key, pending);
+                return new Verification<>(Status.EXPIRED, null);
+            }
+            if (pending.attempts >= maxAttempts) {
+                codes.remove(key, pending);
+                return new Verification<>(Status.TOO_MANY_ATTEMPTS, null);
+            }
+
+            byte[] given = otp != null ? otp.trim().getBytes(StandardCharsets.US_ASCII) : new byte[0];
+            if (!MessageDigest.isEqual(pending.code, given)) {
+                pending.attempts++;
+                return new Verification<>(Status.INVALID, null);
+            }
+
+            // Only the first successful verification gets the payload
+            if (!codes.remove(key, pending)) {
+                return new Verification<>(Status.NOT_FOUND, null);
+            }
+            return new Verification<>(Status.VALID, (T) pending.payload);
+        }
+    }
+
+    // Drops expired codes and buckets that have refilled completely
+    @Scheduled(fixedDelayString = "${otp.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        codes.values().removeIf(pending -> pending.expiresAt < now);
+        emailBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        ipBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static long take(Map<String, TokenBucket> buckets, String key, int capacity, long refillSeconds,
+            long now) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillSeconds * 1000, now))
+                .tryConsume(now);
+    }
+
+    private static String key(Purpose purpose, String email) {
+        return purpose + ":" + email;
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
     }
 }
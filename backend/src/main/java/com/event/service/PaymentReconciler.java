@@ -0,0 +1,235 @@
+package com.event.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import com.event.repository.OrderRepo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Settles orders left in "Payment Pending" because the eSewa redirect never reached /success.
+ *
+ * Each run pages through pending orders older than {@code payments.reconcile.min-age-ms}
+ * (oldest first, keyset on createdAt/orderId), asks eSewa for each transaction's status with at
+ * most {@code payments.reconcile.parallelism} calls in flight, and applies the results per page
+ * with one bulk update per target status. COMPLETE becomes "Paid"; NOT_FOUND or CANCELED becomes
+ * "Payment Failed" once the order is older than {@code payments.reconcile.fail-after-ms}.
+ * Everything else is left for the next run. Point {@code esewa.verification.url} at a local
+ * stub (see the esewa-stub profile) to run it without the real gateway.
+ */
+@Component
+public class PaymentReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentReconciler.class);
+
+    public static final String PENDING = "Payment Pending";
+    public static final String PAID = "Paid";
+    public static final String FAILED = "Payment Failed";
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private EsewaPaymentService esewaPaymentService;
+
+    @Autowired
+    private StatsRollup statsRollup;
+
+    @Value("${payments.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payments.reconcile.page-size:100}")
+    private int pageSize;
+
+    @Value("${payments.reconcile.parallelism:4}")
+    private int parallelism;
+
+    @Value("${payments.reconcile.min-age-ms:900000}")
+    private long minAgeMs;
+
+    @Value("${payments.reconcile.fail-after-ms:86400000}")
+    private long failAfterMs;
+
+    private ExecutorService pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Progress of the current (or last) run
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastFinishedAt;
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong paid = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong unresolved = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    // Totals since startup
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalPaid = new AtomicLong();
+    private final AtomicLong totalFailed = new AtomicLong();
+
+    public record Progress(boolean running, LocalDateTime lastStartedAt, LocalDateTime lastFinishedAt,
+            long scanned, long paid, long failed, long unresolved, long errors,
+            long runs, long totalPaid, long totalFailed) {
+    }
+
+    private record Pending(Long orderId, String transactionUuid, String totalAmount, LocalDateTime createdAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        pool = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${payments.reconcile.interval-ms:600000}",
+            initialDelayString = "${payments.reconcile.initial-delay-ms:60000}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /** Runs one pass over all pending orders; returns false if a pass is already running. */
+    public boolean run() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            startRun();
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime before = now.minus(Duration.ofMillis(minAgeMs));
+            LocalDateTime failBefore = now.minus(Duration.ofMillis(failAfterMs));
+
+            LocalDateTime afterCreatedAt = EPOCH;
+            Long afterId = 0L;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Pending> page = orderRepo.findStatusPageAfter(PENDING, before, afterCreatedAt, afterId,
+                        PageRequest.of(0, pageSize)).stream().map(PaymentReconciler::toPending).toList();
+                if (page.isEmpty()) {
+                    break;
+                }
+                reconcilePage(page, failBefore);
+
+                Pending last = page.get(page.size() - 1);
+                afterCreatedAt = last.createdAt();
+                afterId = last.orderId();
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+
+            lastFinishedAt = LocalDateTime.now();
+            log.info("Payment reconciliation: {} checked, {} paid, {} failed, {} still pending, {} errors",
+                    scanned.get(), paid.get(), failed.get(), unresolved.get(), errors.get());
+            return true;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Progress progress() {
+        return new Progress(running.get(), lastStartedAt, lastFinishedAt, scanned.get(), paid.get(),
+                failed.get(), unresolved.get(), errors.get(), runs.get(), totalPaid.get(), totalFailed.get());
+    }
+
+    private void startRun() {
+        runs.incrementAndGet();
+        lastStartedAt = LocalDateTime.now();
+        lastFinishedAt = null;
+        scanned.set(0);
+        paid.set(0);
+        failed.set(0);
+        unresolved.set(0);
+        errors.set(0);
+    }
+
+    private void reconcilePage(List<Pending> page, LocalDateTime failBefore) {
+        List<Future<String>> statuses = new ArrayList<>(page.size());
+        for (Pending order : page) {
+            statuses.add(pool.submit(
+                    () -> esewaPaymentService.fetchStatus(order.transactionUuid(), order.totalAmount())));
+        }
+
+        List<Long> toPaid = new ArrayList<>();
+        List<Long> toFailed = new ArrayList<>();
+        for (int i = 0; i < page.size(); i++) {
+            Pending order = page.get(i);
+            scanned.incrementAndGet();
+            String status;
+            try {
+                status = statuses.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (!(cause instanceof RestClientException)) {
+                    log.error("Reconciling order {} failed", order.orderId(), cause);
+                }
+                errors.incrementAndGet();
+                continue;
+            }
+
+            if ("COMPLETE".equalsIgnoreCase(status)) {
+                toPaid.add(order.orderId());
+            } else if (("NOT_FOUND".equalsIgnoreCase(status) || "CANCELED".equalsIgnoreCase(status))
+                    && order.createdAt().isBefore(failBefore)) {
+                toFailed.add(order.orderId());
+            } else {
+                unresolved.incrementAndGet();
+            }
+        }
+
+        int markedPaid = transition(toPaid, PAID);
+        int markedFailed = transition(toFailed, FAILED);
+        paid.addAndGet(markedPaid);
+        failed.addAndGet(markedFailed);
+        totalPaid.addAndGet(markedPaid);
+        totalFailed.addAndGet(markedFailed);
+    }
+
+    private int transition(List<Long> orderIds, String to) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        // Orders confirmed by the redirect in the meantime are no longer pending and are skipped
+        int updated = orderRepo.updateStatus(orderIds, PENDING, to);
+        if (updated > 0) {
+            statsRollup.orderStatusChanged(PENDING, to, updated);
+        }
+        return updated;
+    }
+
+    private static Pending toPending(Object[] row) {
+        BigDecimal amount = (BigDecimal) row[2];
+        return new Pending((Long) row[0], (String) row[1],
+                amount != null ? amount.setScale(2, RoundingMode.HALF_UP).toString() : "0.00",
+                (LocalDateTime) row[3]);
+    }
+}
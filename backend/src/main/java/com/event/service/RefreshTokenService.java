@@ -0,0 +1,349 @@
+package com.event.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.event.configuration.JtiDenyList;
+import com.event.configuration.JwtPrincipal;
+import com.event.configuration.JwtUtil;
+import com.event.model.RefreshToken;
+import com.event.model.User;
+import com.event.repository.RefreshTokenRepo;
+import com.event.repository.UserRepo;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Refresh-token sessions: issue on login, rotate on /auth/refresh, revoke on logout.
+ *
+ * Tokens are stored as SHA-256 hashes in the unique {@code token} column. Live sessions are
+ * indexed in memory by that hash, so a refresh is normally served without any read. Rotation
+ * swaps the index entry and queues the row update in one step under the row's entry in
+ * {@code pendingWrites}, so only one of two concurrent refreshes with the same token wins and a
+ * lookup can't re-cache a hash that was just rotated away. Queued updates for the same session
+ * coalesce and are written in one JDBC batch every flush interval; an update stays queued until
+ * it has been written, so a failed flush is retried. Logouts delete the row immediately.
+ *
+ * The index holds at most {@code auth.refresh.cache.max-entries} sessions. A token that is not
+ * indexed, and whose row has no queued write, is claimed in the table instead: the rotation or
+ * logout is written at once, conditional on the row still holding that token.
+ *
+ * A crash still loses the rotations of the last flush interval: those clients have to log in
+ * again, and until the session expires the table accepts the refresh token they rotated away
+ * from. The index is per JVM, so a refresh must reach the node that last rotated the session
+ * until the next flush.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final String UPDATE_TOKEN =
+            "UPDATE refresh_token SET token = ?, jti = ?, expires_at = ? WHERE id = ?";
+    private static final String DELETE_TOKEN = "DELETE FROM refresh_token WHERE id = ?";
+    private static final String UPDATE_TOKEN_IF_CURRENT =
+            "UPDATE refresh_token SET token = ?, jti = ?, expires_at = ? WHERE id = ? AND token = ?";
+    private static final String DELETE_TOKEN_IF_CURRENT = "DELETE FROM refresh_token WHERE id = ? AND token = ?";
+    private static final String DELETE_EXPIRED = "DELETE FROM refresh_token WHERE expires_at < ?";
+
+    @Autowired
+    private RefreshTokenRepo refreshTokenRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JtiDenyList jtiDenyList;
+
+    @Value("${auth.refresh.ttl-days:7}")
+    private long ttlDays;
+
+    @Value("${auth.refresh.cache.max-entries:100000}")
+    private int cacheMaxEntries;
+
+    // Email and role ride along with the session; after this long they are re-read from the user row
+    @Value("${auth.refresh.user-info-ttl-ms:900000}")
+    private long userInfoTtlMs;
+
+    private final SecureRandom random = new SecureRandom();
+
+    // token hash -> live session
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    // row id -> latest state still to be written; a null token hash means delete
+    private final Map<Long, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    private record Session(long rowId, long userId, String email, String role, String sessionId,
+            String jti, Instant expiresAt, long userInfoLoadedAt) {
+    }
+
+    private record PendingWrite(String tokenHash, String jti, Instant expiresAt) {
+    }
+
+    public record Issued(String refreshToken, String sessionId) {
+    }
+
+    public record Rotated(String accessToken, String refreshToken, String jti) {
+    }
+
+    /** Starts a new session for a login; written synchronously because the row id is needed. */
+    public Issued issue(User user, String accessJti) {
+        String rawToken = newRawToken();
+        String sessionId = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plus(ttlDays, ChronoUnit.DAYS);
+
+        RefreshToken rt = new RefreshToken();
+        rt.setUser(user);
+        rt.setTokenHash(hash(rawToken));
+        rt.setSessionId(sessionId);
+        rt.setJti(accessJti);
+        rt.setExpiresAt(expiresAt);
+        refreshTokenRepo.save(rt);
+
+        if (admit()) {
+            sessions.put(rt.getTokenHash(), new Session(rt.getId(), user.getUser_id(), user.getEmail(),
+                    user.getRole(), sessionId, accessJti, expiresAt, System.currentTimeMillis()));
+        }
+        return new Issued(rawToken, sessionId);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access/refresh pair. The jti and session id must match
+     * the ones the token was issued with. The old refresh token and access token stop working.
+     */
+    public Optional<Rotated> rotate(String rawToken, String jti, String sessionId) {
+        if (rawToken == null) {
+            return Optional.empty();
+        }
+        String oldHash = hash(rawToken);
+        Session session = lookup(oldHash);
+        if (session == null || !session.jti().equals(jti) || !session.sessionId().equals(sessionId)) {
+            return Optional.empty();
+        }
+        if (session.expiresAt().isBefore(Instant.now())) {
+            sessions.remove(oldHash, session);
+            return Optional.empty();
+        }
+
+        session = refreshUserInfo(session);
+        if (session == null) {
+            return Optional.empty();
+        }
+
+        String accessToken = jwtUtil.generateToken(session.email(), session.role(), session.userId());
+        JwtPrincipal principal = jwtUtil.authenticate(accessToken);
+        String newRawToken = newRawToken();
+        String newHash = hash(newRawToken);
+        Instant expiresAt = Instant.now().plus(ttlDays, ChronoUnit.DAYS);
+        Session rotated = new Session(session.rowId(), session.userId(), session.email(), session.role(),
+                sessionId, principal.jti(), expiresAt, session.userInfoLoadedAt());
+
+        // The entry may have been reloaded above, so swap on the hash rather than the instance.
+        // Claiming the old hash and queueing the new one happen together under the row's entry,
+        // which lookup() also takes before caching a hash read from the table.
+        PendingWrite write = new PendingWrite(newHash, principal.jti(), expiresAt);
+        boolean[] claimed = new boolean[1];
+        pendingWrites.compute(session.rowId(), (rowId, queued) -> {
+            if (sessions.remove(oldHash) != null) {
+                // Replaces the old entry one for one, so the index can't grow past its cap here.
+                // A row with a queued write must stay indexed: the table is stale for it.
+                sessions.put(newHash, rotated);
+                claimed[0] = true;
+                return write;
+            }
+            if (queued != null) {
+                return queued; // a concurrent refresh already used this token
+            }
+            // Not indexed (the index was full): the table decides, and is updated now
+            claimed[0] = jdbcTemplate.update(UPDATE_TOKEN_IF_CURRENT, newHash, principal.jti(),
+                    Timestamp.from(expiresAt), rowId, oldHash) == 1;
+            if (claimed[0] && admit()) {
+                sessions.put(newHash, rotated);
+            }
+            return null;
+        });
+        if (!claimed[0]) {
+            return Optional.empty();
+        }
+
+        jtiDenyList.revoke(jti, System.currentTimeMillis() + jwtUtil.getExpirationMillis());
+        return Optional.of(new Rotated(accessToken, newRawToken, principal.jti()));
+    }
+
+    /** Ends the session if the token, jti and session id match; the access token is revoked too. */
+    public void revoke(String rawToken, String jti, String sessionId) {
+        if (rawToken == null) {
+            return;
+        }
+        String tokenHash = hash(rawToken);
+        Session session = lookup(tokenHash);
+        if (session == null || !session.jti().equals(jti) || !session.sessionId().equals(sessionId)) {
+            return;
+        }
+        PendingWrite delete = new PendingWrite(null, null, null);
+        boolean[] claimed = new boolean[1];
+        boolean[] deleted = new boolean[1];
+        pendingWrites.compute(session.rowId(), (rowId, queued) -> {
+            if (sessions.remove(tokenHash) != null) {
+                claimed[0] = true;
+                return delete;
+            }
+            if (queued != null) {
+                return queued;
+            }
+            // Not indexed (the index was full): deleted straight from the table
+            claimed[0] = deleted[0] = jdbcTemplate.update(DELETE_TOKEN_IF_CURRENT, rowId, tokenHash) == 1;
+            return null;
+        });
+        if (!claimed[0]) {
+            return;
+        }
+        jtiDenyList.revoke(jti, System.currentTimeMillis() + jwtUtil.getExpirationMillis());
+
+        if (deleted[0]) {
+            return;
+        }
+
+        // Deleted now rather than at the next flush; the queued delete keeps lookups away from the
+        // row meanwhile, and stays queued for flush() to retry if this fails
+        try {
+            jdbcTemplate.update(DELETE_TOKEN, session.rowId());
+            pendingWrites.remove(session.rowId(), delete);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete refresh token {}, will retry", session.rowId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh.flush-interval-ms:1000}")
+    public void flush() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+        // Writes stay queued until they are in the table, so lookups keep ignoring the stale row
+        // meanwhile and a failed batch is simply retried on the next run
+        Map<Long, PendingWrite> updates = new HashMap<>();
+        Map<Long, PendingWrite> deletes = new HashMap<>();
+        pendingWrites.forEach((rowId, write) -> (write.tokenHash() == null ? deletes : updates).put(rowId, write));
+
+        writeBatch(UPDATE_TOKEN, updates, (rowId, write) -> new Object[] { write.tokenHash(), write.jti(),
+                Timestamp.from(write.expiresAt()), rowId });
+        writeBatch(DELETE_TOKEN, deletes, (rowId, write) -> new Object[] { rowId });
+    }
+
+    private void writeBatch(String sql, Map<Long, PendingWrite> writes,
+            BiFunction<Long, PendingWrite, Object[]> toArgs) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(writes.size());
+        writes.forEach((rowId, write) -> args.add(toArgs.apply(rowId, write)));
+        try {
+            jdbcTemplate.batchUpdate(sql, args);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} refresh token changes, will retry", writes.size(), e);
+            return;
+        }
+        // Only drop what was written; a newer rotation queued meanwhile stays for the next flush
+        writes.forEach(pendingWrites::remove);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        sessions.values().removeIf(session -> session.expiresAt().isBefore(now));
+        jdbcTemplate.update(DELETE_EXPIRED, Timestamp.from(now));
+    }
+
+    private Session lookup(String tokenHash) {
+        Session session = sessions.get(tokenHash);
+        if (session != null) {
+            return session;
+        }
+        Optional<RefreshToken> stored = refreshTokenRepo.findByTokenHashWithUser(tokenHash);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        RefreshToken rt = stored.get();
+        User user = rt.getUser();
+        Session loaded = new Session(rt.getId(), user.getUser_id(), user.getEmail(), user.getRole(),
+                rt.getSessionId(), rt.getJti(), rt.getExpiresAt(), System.currentTimeMillis());
+
+        // Checked and cached under the row's entry, so this can't interleave with a rotation or
+        // logout of the same row. Past the cap the session is used without being indexed, and
+        // rotate()/revoke() claim it in the table.
+        Session[] result = new Session[1];
+        pendingWrites.compute(rt.getId(), (rowId, queued) -> {
+            if (queued == null) {
+                Session existing = admit() ? sessions.putIfAbsent(tokenHash, loaded) : sessions.get(tokenHash);
+                result[0] = existing != null ? existing : loaded;
+            }
+            // A queued rotation or logout already replaced what the table still holds
+            return queued;
+        });
+        return result[0];
+    }
+
+    // Whether the index has room for one more session
+    private boolean admit() {
+        return sessions.size() < cacheMaxEntries;
+    }
+
+    private Session refreshUserInfo(Session session) {
+        if (System.currentTimeMillis() - session.userInfoLoadedAt() < userInfoTtlMs) {
+            return session;
+        }
+        return userRepo.findById(session.userId())
+                .map(user -> new Session(session.rowId(), session.userId(), user.getEmail(), user.getRole(),
+                        session.sessionId(), session.jti(), session.expiresAt(), System.currentTimeMillis()))
+                .orElse(null);
+    }
+
+    private String newRawToken() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
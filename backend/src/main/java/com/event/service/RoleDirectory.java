@@ -0,0 +1,51 @@
+package com.event.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.event.repository.UserRepo;
+
+/**
+ * Short-lived cache of which user ids hold a given set of roles, so notification
+ * fan-out does not query (or scan) the user table on every event.
+ * Entries expire after {@code notifications.role-cache-ttl-ms}; user admin
+ * endpoints call {@link #invalidate()} when roles may have changed.
+ */
+@Component
+public class RoleDirectory {
+
+    // Order fan-out treats both spellings as admin
+    public static final List<String> ADMIN_ROLES = List.of("ADMIN", "ROLE_ADMIN");
+
+    // Role used by the generic all-roles notification path
+    public static final List<String> ROLE_ADMIN_ONLY = List.of("ROLE_ADMIN");
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Value("${notifications.role-cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    private final Map<List<String>, Entry> cache = new ConcurrentHashMap<>();
+
+    public List<Long> userIdsWithRoles(List<String> roles) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(roles);
+        if (entry == null || now - entry.loadedAt() > ttlMs) {
+            entry = new Entry(List.copyOf(userRepo.findIdsByRoleIn(roles)), now);
+            cache.put(roles, entry);
+        }
+        return entry.userIds();
+    }
+
+    public void invalidate() {
+        cache.clear();
+    }
+
+    private record Entry(List<Long> userIds, long loadedAt) {}
+}
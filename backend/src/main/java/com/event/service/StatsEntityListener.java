@@ -0,0 +1,69 @@
+package com.event.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.event.model.Booking;
+import com.event.model.Order;
+import com.event.model.Partner;
+import com.event.model.User;
+import com.event.model.Venue;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Feeds entity inserts, deletes and order status changes into {@link StatsRollup}.
+ * Hibernate creates this through Spring, so the rollup is looked up lazily to avoid a cycle
+ * with the EntityManagerFactory.
+ */
+public class StatsEntityListener {
+
+    @Autowired
+    private ObjectProvider<StatsRollup> statsRollup;
+
+    @PostPersist
+    public void onInsert(Object entity) {
+        apply(entity, 1);
+    }
+
+    @PostRemove
+    public void onDelete(Object entity) {
+        apply(entity, -1);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        StatsRollup rollup = rollup();
+        if (rollup != null && entity instanceof Order order) {
+            String previous = order.getPersistedStatus();
+            String current = order.getStatus();
+            if (previous != null ? !previous.equalsIgnoreCase(current) : current != null) {
+                rollup.orderStatusChanged(previous, current);
+            }
+        }
+    }
+
+    private void apply(Object entity, int delta) {
+        StatsRollup rollup = rollup();
+        if (rollup == null) {
+            return;
+        }
+        if (entity instanceof User user) {
+            rollup.userAdded(user instanceof Partner, user.getCreatedAt(), delta);
+        } else if (entity instanceof Venue venue) {
+            rollup.venueAdded(venue.getCreatedAt(), delta);
+        } else if (entity instanceof Booking booking) {
+            rollup.bookingAdded(booking.getAmount(), delta);
+        } else if (entity instanceof Order order) {
+            // A removed order counts against the status it was stored with
+            String status = delta > 0 ? order.getStatus() : order.getPersistedStatus();
+            rollup.orderAdded(status, order.getTotalAmount(), order.getCreatedAt(), delta);
+        }
+    }
+
+    private StatsRollup rollup() {
+        return statsRollup != null ? statsRollup.getIfAvailable() : null;
+    }
+}
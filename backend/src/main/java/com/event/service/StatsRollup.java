@@ -0,0 +1,229 @@
+package com.event.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.event.repository.BookingRepo;
+import com.event.repository.OrderRepo;
+import com.event.repository.PartnerRepo;
+import com.event.repository.UserRepo;
+import com.event.repository.VenueRepo;
+import com.event.util.AfterCommit;
+
+/**
+ * In-memory rollup of the admin dashboard numbers.
+ *
+ * Counters and the current year's monthly buckets are adjusted by {@link StatsEntityListener}
+ * as users, partners, venues, bookings and orders are written, after the transaction commits.
+ * The whole rollup is rebuilt from the database on first use, periodically, and when the year
+ * changes, which also corrects anything written outside JPA (bulk updates, manual SQL).
+ */
+@Component
+public class StatsRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(StatsRollup.class);
+
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private PartnerRepo partnerRepo;
+    @Autowired
+    private VenueRepo venueRepo;
+    @Autowired
+    private BookingRepo bookingRepo;
+    @Autowired
+    private OrderRepo orderRepo;
+
+    private boolean loaded;
+    private int year;
+
+    private long users;
+    private long partners;
+    private long venues;
+    private long bookings;
+    private long orders;
+    private BigDecimal bookingRevenue = BigDecimal.ZERO;
+    private BigDecimal orderRevenue = BigDecimal.ZERO;
+    private final Map<String, Long> orderStatus = new HashMap<>();
+
+    // Index 0 is January of the current year
+    private final long[] usersPerMonth = new long[12];
+    private final long[] partnersPerMonth = new long[12];
+    private final long[] venuesPerMonth = new long[12];
+    private final long[] ordersPerMonth = new long[12];
+    private final BigDecimal[] salesPerMonth = new BigDecimal[12];
+
+    public synchronized Snapshot snapshot() {
+        if (!loaded || year != LocalDate.now().getYear()) {
+            reload();
+        }
+        return new Snapshot(users, partners, venues, bookings, orders, bookingRevenue, orderRevenue,
+                Map.copyOf(orderStatus), year,
+                usersPerMonth.clone(), partnersPerMonth.clone(), venuesPerMonth.clone(),
+                ordersPerMonth.clone(), salesPerMonth.clone());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${stats.rollup.reconcile-ms:600000}",
+            fixedDelayString = "${stats.rollup.reconcile-ms:600000}")
+    public void reconcile() {
+        try {
+            synchronized (this) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile dashboard stats", e);
+        }
+    }
+
+    // Full recount from the database; runs the aggregate queries the dashboard used to run per request
+    private void reload() {
+        int currentYear = LocalDate.now().getYear();
+
+        users = userRepo.countByUserTypeIn(List.of("ADMIN", "USER", "PARTNER"));
+        partners = partnerRepo.count();
+        venues = venueRepo.count();
+        bookings = bookingRepo.count();
+        orders = orderRepo.count();
+
+        Double bookingTotal = bookingRepo.findTotalBookingCost();
+        bookingRevenue = bookingTotal != null ? BigDecimal.valueOf(bookingTotal) : BigDecimal.ZERO;
+        BigDecimal orderTotal = orderRepo.findTotalOrderAmount();
+        orderRevenue = orderTotal != null ? orderTotal : BigDecimal.ZERO;
+
+        orderStatus.clear();
+        for (Object[] row : orderRepo.countOrdersGroupedByStatus()) {
+            if (row[0] != null) {
+                orderStatus.put(row[0].toString().toLowerCase(), (Long) row[1]);
+            }
+        }
+
+        // Half-open range on createdAt rather than YEAR(createdAt), so the created_at indexes apply
+        LocalDateTime yearStart = LocalDateTime.of(currentYear, 1, 1, 0, 0);
+        LocalDateTime yearEnd = yearStart.plusYears(1);
+        fillCounts(usersPerMonth, userRepo.countUsersPerMonth(yearStart, yearEnd));
+        fillCounts(partnersPerMonth, partnerRepo.countPartnersPerMonth(yearStart, yearEnd));
+        fillCounts(venuesPerMonth, venueRepo.countVenuesPerMonth(yearStart, yearEnd));
+        fillCounts(ordersPerMonth, orderRepo.countOrdersPerMonth(yearStart, yearEnd));
+        Arrays.fill(salesPerMonth, BigDecimal.ZERO);
+        for (Object[] row : orderRepo.sumOrderRevenuePerMonth(yearStart, yearEnd)) {
+            if (row[1] != null) {
+                salesPerMonth[((Number) row[0]).intValue() - 1] = (BigDecimal) row[1];
+            }
+        }
+
+        year = currentYear;
+        loaded = true;
+    }
+
+    private static void fillCounts(long[] buckets, List<Object[]> rows) {
+        Arrays.fill(buckets, 0L);
+        for (Object[] row : rows) {
+            buckets[((Number) row[0]).intValue() - 1] = ((Number) row[1]).longValue();
+        }
+    }
+
+    // ========== INCREMENTAL UPDATES (called by StatsEntityListener) ==========
+
+    void userAdded(boolean partner, LocalDateTime createdAt, int delta) {
+        applyAfterCommit(() -> {
+            users += delta;
+            bumpMonth(usersPerMonth, createdAt, delta);
+            if (partner) {
+                partners += delta;
+                bumpMonth(partnersPerMonth, createdAt, delta);
+            }
+        });
+    }
+
+    void venueAdded(LocalDateTime createdAt, int delta) {
+        applyAfterCommit(() -> {
+            venues += delta;
+            bumpMonth(venuesPerMonth, createdAt, delta);
+        });
+    }
+
+    void bookingAdded(BigDecimal amount, int delta) {
+        applyAfterCommit(() -> {
+            bookings += delta;
+            if (amount != null) {
+                bookingRevenue = bookingRevenue.add(delta > 0 ? amount : amount.negate());
+            }
+        });
+    }
+
+    void orderAdded(String status, BigDecimal totalAmount, LocalDateTime createdAt, int delta) {
+        applyAfterCommit(() -> {
+            orders += delta;
+            bumpStatus(status, delta);
+            bumpMonth(ordersPerMonth, createdAt, delta);
+            if (totalAmount != null) {
+                BigDecimal signed = delta > 0 ? totalAmount : totalAmount.negate();
+                orderRevenue = orderRevenue.add(signed);
+                int month = monthIndex(createdAt);
+                if (month >= 0) {
+                    salesPerMonth[month] = salesPerMonth[month].add(signed);
+                }
+            }
+        });
+    }
+
+    void orderStatusChanged(String from, String to) {
+        orderStatusChanged(from, to, 1);
+    }
+
+    // For bulk updates, which bypass the entity listener
+    void orderStatusChanged(String from, String to, int count) {
+        applyAfterCommit(() -> {
+            bumpStatus(from, -count);
+            bumpStatus(to, count);
+        });
+    }
+
+    private void bumpStatus(String status, int delta) {
+        if (status != null) {
+            orderStatus.merge(status.toLowerCase(), (long) delta, Long::sum);
+        }
+    }
+
+    private void bumpMonth(long[] buckets, LocalDateTime createdAt, int delta) {
+        int month = monthIndex(createdAt);
+        if (month >= 0) {
+            buckets[month] += delta;
+        }
+    }
+
+    private int monthIndex(LocalDateTime createdAt) {
+        return createdAt != null && createdAt.getYear() == year ? createdAt.getMonthValue() - 1 : -1;
+    }
+
+    // Deltas are dropped until the first load, which counts the committed rows anyway
+    private void applyAfterCommit(Runnable update) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                if (loaded) {
+                    update.run();
+                }
+            }
+        });
+    }
+
+    public record Snapshot(long users, long partners, long venues, long bookings, long orders,
+            BigDecimal bookingRevenue, BigDecimal orderRevenue, Map<String, Long> orderStatus, int year,
+            long[] usersPerMonth, long[] partnersPerMonth, long[] venuesPerMonth, long[] ordersPerMonth,
+            BigDecimal[] salesPerMonth) {
+    }
+}
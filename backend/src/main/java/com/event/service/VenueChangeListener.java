@@ -0,0 +1,55 @@
+package com.event.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.event.model.Venue;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Keeps {@link VenueSearchService} and {@link VenueDetailCache} in step with venue inserts,
+ * updates and deletes. Looked up lazily for the same reason as {@link StatsEntityListener}.
+ */
+public class VenueChangeListener {
+
+    @Autowired
+    private ObjectProvider<VenueSearchService> venueSearch;
+
+    @Autowired
+    private ObjectProvider<VenueDetailCache> venueDetailCache;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Venue venue) {
+        VenueSearchService search = available(venueSearch);
+        if (search != null) {
+            search.venuesChanged(List.of(venue.getVenue_id()));
+        }
+        invalidate(venue);
+    }
+
+    @PostRemove
+    public void onDelete(Venue venue) {
+        VenueSearchService search = available(venueSearch);
+        if (search != null) {
+            search.venueDeleted(venue.getVenue_id());
+        }
+        invalidate(venue);
+    }
+
+    private void invalidate(Venue venue) {
+        VenueDetailCache cache = available(venueDetailCache);
+        if (cache != null) {
+            cache.invalidate(venue.getVenue_id());
+        }
+    }
+
+    private static <T> T available(ObjectProvider<T> provider) {
+        return provider != null ? provider.getIfAvailable() : null;
+    }
+}
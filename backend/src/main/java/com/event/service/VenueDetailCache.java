@@ -0,0 +1,197 @@
+package com.event.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.event.dto.VenueDTO;
+import com.event.model.Venue;
+import com.event.repository.VenueRepo;
+import com.event.util.AfterCommit;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Read-through cache of fully hydrated venue detail DTOs for GET /venues/{id}.
+ *
+ * Bounded by entry count and by an estimate of retained bytes, evicting least recently used
+ * entries first. Entries are dropped after commit whenever a venue is saved, deleted or bulk
+ * updated (see {@link VenueChangeListener} and checkout), and a load that raced with an
+ * invalidation is not stored. The cache is per JVM.
+ */
+@Component
+public class VenueDetailCache {
+
+    // Rough fixed cost of a DTO, its map entry and boxed fields
+    private static final long BASE_WEIGHT = 512;
+
+    @Autowired
+    private VenueRepo venueRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${venues.detail-cache.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${venues.detail-cache.max-weight-bytes:16777216}")
+    private long maxWeightBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long weight;
+
+    // Bumped on every invalidation; a load only stores its result if this did not move meanwhile
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private TransactionTemplate readTransaction;
+
+    public record Stats(long hits, long misses, long evictions, long invalidations,
+            int entries, long weightBytes, int maxEntries, long maxWeightBytes, double hitRate) {
+    }
+
+    private record Entry(VenueDTO venue, long weight) {
+    }
+
+    @PostConstruct
+    void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Optional<VenueDTO> get(Long venueId) {
+        synchronized (entries) {
+            Entry entry = entries.get(venueId);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return Optional.of(entry.venue());
+            }
+        }
+        misses.incrementAndGet();
+
+        long loadedAt = generation.get();
+        VenueDTO venue = readTransaction.execute(status -> load(venueId));
+        if (venue == null) {
+            return Optional.empty();
+        }
+        put(venueId, venue, loadedAt);
+        return Optional.of(venue);
+    }
+
+    public void invalidate(Long venueId) {
+        invalidateAll(List.of(venueId));
+    }
+
+    public void invalidateAll(Collection<Long> venueIds) {
+        List<Long> ids = List.copyOf(venueIds);
+        // Dropped now so this transaction's readers miss, and again after commit for loads that ran in between
+        remove(ids);
+        AfterCommit.run(() -> remove(ids));
+    }
+
+    public Stats stats() {
+        long h = hits.get();
+        long m = misses.get();
+        synchronized (entries) {
+            return new Stats(h, m, evictions.get(), invalidations.get(), entries.size(), weight,
+                    maxEntries, maxWeightBytes, h + m == 0 ? 0 : (double) h / (h + m));
+        }
+    }
+
+    private VenueDTO load(Long venueId) {
+        List<Venue> found = venueRepo.findAllWithImagesByIds(List.of(venueId));
+        if (found.isEmpty()) {
+            return null;
+        }
+        Venue venue = found.get(0);
+        Hibernate.initialize(venue.getAmenities());
+
+        VenueDTO dto = VenueDTO.fromVenue(venue);
+        dto.setPartnerId(venue.getPartner() != null ? venue.getPartner().getUser_id() : null);
+        dto.setCategory(venue.getCategory());
+        // Detach from Hibernate's collection wrappers before the session closes
+        dto.setImageUrls(new ArrayList<>(dto.getImageUrls()));
+        dto.setAmenities(dto.getAmenities() != null ? new ArrayList<>(dto.getAmenities()) : null);
+        return dto;
+    }
+
+    private void put(Long venueId, VenueDTO venue, long loadedAt) {
+        long entryWeight = weigh(venue);
+        if (entryWeight > maxWeightBytes) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation.get() != loadedAt) {
+                return;
+            }
+            Entry previous = entries.put(venueId, new Entry(venue, entryWeight));
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+            weight += entryWeight;
+
+            Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+            while ((weight > maxWeightBytes || entries.size() > maxEntries) && eldest.hasNext()) {
+                Map.Entry<Long, Entry> victim = eldest.next();
+                weight -= victim.getValue().weight();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private void remove(List<Long> ids) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            for (Long id : ids) {
+                Entry removed = entries.remove(id);
+                if (removed != null) {
+                    weight -= removed.weight();
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    // Strings dominate; two bytes per char plus header, close enough for sizing
+    private static long weigh(VenueDTO venue) {
+        long total = BASE_WEIGHT;
+        total += chars(venue.getVenueName()) + chars(venue.getLocation()) + chars(venue.getMapLocationUrl())
+                + chars(venue.getBrand()) + chars(venue.getQuality()) + chars(venue.getSize())
+                + chars(venue.getStatus()) + chars(venue.getDescription()) + chars(venue.getCategory());
+        if (venue.getImageUrls() != null) {
+            for (String url : venue.getImageUrls()) {
+                total += chars(url);
+            }
+        }
+        if (venue.getAmenities() != null) {
+            for (String amenity : venue.getAmenities()) {
+                total += chars(amenity);
+            }
+        }
+        return total;
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+}
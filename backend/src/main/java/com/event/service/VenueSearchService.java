@@ -0,0 +1,421 @@
+package com.event.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.event.dto.VenueDTO;
+import com.event.dto.VenueSearchResultDTO;
+import com.event.model.Venue;
+import com.event.repository.VenueRepo;
+import com.event.util.AfterCommit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Lucene index over venues for /venues/search: free-text relevance ranking, price-range and
+ * attribute filters, and facet counts for category, brand, size and quality.
+ *
+ * The index lives on local disk and is rebuilt from MySQL when the application starts. After
+ * that it follows the database through {@link VenueChangeListener} (entity writes) and
+ * {@link #venuesChanged} (bulk updates such as checkout), applied after commit.
+ */
+@Service
+public class VenueSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(VenueSearchService.class);
+
+    public static final List<String> FACET_FIELDS = List.of("category", "brand", "size", "quality");
+
+    // Field -> boost for free-text matching
+    private static final Map<String, Float> TEXT_FIELDS = Map.of(
+            "name", 4f,
+            "brand", 2f,
+            "category", 2f,
+            "description", 1f,
+            "location", 0.5f);
+
+    @Autowired
+    private VenueRepo venueRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${venues.search.index-dir:${java.io.tmpdir}/thrift-venue-index}")
+    private String indexDir;
+
+    @Value("${venues.search.max-facet-values:20}")
+    private int maxFacetValues;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private TransactionTemplate readTransaction;
+
+    // Facet ordinals are per reader; rebuilt only when a refresh produced a new reader
+    private volatile SortedSetDocValuesReaderState facetState;
+
+    @PostConstruct
+    void open() throws IOException {
+        Path path = Paths.get(indexDir);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        // A separate transaction gets a fresh persistence context, so bulk updates are visible
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<Document> docs = readTransaction.execute(status ->
+                    venueRepo.findAllWithImages().stream().map(this::toDocument).toList());
+            writer.deleteAll();
+            for (Document doc : docs) {
+                writer.addDocument(facetsConfig.build(doc));
+            }
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("Venue search index rebuilt with {} venues", docs.size());
+        } catch (IOException e) {
+            log.error("Failed to rebuild venue search index", e);
+        }
+    }
+
+    // Changes are searchable right after refresh; the periodic commit only makes them durable
+    @Scheduled(fixedDelayString = "${venues.search.commit-interval-ms:30000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("Failed to commit venue search index", e);
+        }
+    }
+
+    /** Re-reads the given venues after the current transaction commits and updates their documents. */
+    public void venuesChanged(Collection<Long> venueIds) {
+        List<Long> ids = List.copyOf(venueIds);
+        AfterCommit.run(() -> reindex(ids));
+    }
+
+    public void venueDeleted(Long venueId) {
+        AfterCommit.run(() -> {
+            try {
+                writer.deleteDocuments(new Term("id", String.valueOf(venueId)));
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                log.warn("Failed to remove venue {} from search index", venueId, e);
+            }
+        });
+    }
+
+    private void reindex(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            List<Document> docs = readTransaction.execute(status ->
+                    venueRepo.findAllWithImagesByIds(ids).stream().map(this::toDocument).toList());
+            for (Document doc : docs) {
+                writer.updateDocument(new Term("id", doc.get("id")), facetsConfig.build(doc));
+            }
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            // The next rebuild brings the index back in line
+            log.warn("Failed to index venues {}", ids, e);
+        }
+    }
+
+    // ========== SEARCH ==========
+
+    /**
+     * @param filters exact, case-insensitive matches on category/brand/size/quality/status
+     * @param sort    "relevance" (default), "price_asc", "price_desc" or "newest"
+     */
+    public VenueSearchResultDTO search(String text, Map<String, String> filters, BigDecimal minPrice,
+            BigDecimal maxPrice, String sort, int page, int size) throws IOException {
+        Query query = buildQuery(text, filters, minPrice, maxPrice);
+        int wanted = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (page + 1L) * size));
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            FacetsCollector facetsCollector = new FacetsCollector();
+            Sort order = toSort(sort);
+            TopDocs topDocs = order == null
+                    ? FacetsCollector.search(searcher, query, wanted, facetsCollector)
+                    : FacetsCollector.search(searcher, query, wanted, order, facetsCollector);
+
+            List<VenueDTO> items = new ArrayList<>();
+            ScoreDoc[] hits = topDocs.scoreDocs;
+            int from = (int) Math.min(hits.length, (long) page * size);
+            for (int i = from; i < hits.length; i++) {
+                items.add(toDTO(searcher.storedFields().document(hits[i].doc)));
+            }
+
+            return new VenueSearchResultDTO(items, topDocs.totalHits.value,
+                    facetCounts(searcher, facetsCollector));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query buildQuery(String text, Map<String, String> filters, BigDecimal minPrice, BigDecimal maxPrice)
+            throws IOException {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+
+        List<String> tokens = analyze(text);
+        if (tokens.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        } else {
+            BooleanQuery.Builder textQuery = new BooleanQuery.Builder();
+            for (String token : tokens) {
+                TEXT_FIELDS.forEach((field, boost) ->
+                        textQuery.add(new BoostQuery(new TermQuery(new Term(field, token)), boost),
+                                BooleanClause.Occur.SHOULD));
+            }
+            // Lets a half-typed last word still match names
+            String last = tokens.get(tokens.size() - 1);
+            textQuery.add(new BoostQuery(new PrefixQuery(new Term("name", last)), 1f), BooleanClause.Occur.SHOULD);
+            query.add(textQuery.build(), BooleanClause.Occur.MUST);
+        }
+
+        filters.forEach((field, value) -> {
+            if (value != null && !value.isBlank()) {
+                query.add(new TermQuery(new Term(field + "_key", normalize(value))), BooleanClause.Occur.FILTER);
+            }
+        });
+
+        if (minPrice != null || maxPrice != null) {
+            double lower = minPrice != null ? minPrice.doubleValue() : Double.NEGATIVE_INFINITY;
+            double upper = maxPrice != null ? maxPrice.doubleValue() : Double.POSITIVE_INFINITY;
+            query.add(DoublePoint.newRangeQuery("price", lower, upper), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Map<String, Map<String, Integer>> facetCounts(IndexSearcher searcher, FacetsCollector collector)
+            throws IOException {
+        Map<String, Map<String, Integer>> result = new LinkedHashMap<>();
+        Facets facets;
+        try {
+            facets = new SortedSetDocValuesFacetCounts(facetState(searcher), collector);
+        } catch (IllegalArgumentException e) {
+            return result; // nothing with facet values indexed yet
+        }
+
+        for (String dimension : FACET_FIELDS) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            try {
+                FacetResult facet = facets.getTopChildren(maxFacetValues, dimension);
+                if (facet != null) {
+                    for (LabelAndValue lv : facet.labelValues) {
+                        counts.put(lv.label, lv.value.intValue());
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                // dimension has no values in the index
+            }
+            result.put(dimension, counts);
+        }
+        return result;
+    }
+
+    private SortedSetDocValuesReaderState facetState(IndexSearcher searcher) throws IOException {
+        SortedSetDocValuesReaderState state = facetState;
+        if (state == null || state.getReader() != searcher.getIndexReader()) {
+            state = new DefaultSortedSetDocValuesReaderState(searcher.getIndexReader(), facetsConfig);
+            facetState = state;
+        }
+        return state;
+    }
+
+    private static Sort toSort(String sort) {
+        if (sort == null) {
+            return null;
+        }
+        return switch (sort) {
+            case "price_asc" -> new Sort(new SortField("price_sort", SortField.Type.DOUBLE));
+            case "price_desc" -> new Sort(new SortField("price_sort", SortField.Type.DOUBLE, true));
+            case "newest" -> new Sort(new SortField("created_sort", SortField.Type.LONG, true));
+            default -> null;
+        };
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        try (TokenStream stream = analyzer.tokenStream("name", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        }
+        return tokens;
+    }
+
+    // ========== DOCUMENT MAPPING ==========
+
+    private Document toDocument(Venue venue) {
+        Document doc = new Document();
+        doc.add(new StringField("id", String.valueOf(venue.getVenue_id()), Field.Store.YES));
+
+        addText(doc, "name", venue.getVenueName());
+        addText(doc, "description", venue.getDescription());
+        addText(doc, "location", venue.getLocation());
+
+        addAttribute(doc, "category", venue.getCategory());
+        addAttribute(doc, "brand", venue.getBrand());
+        addAttribute(doc, "size", venue.getSize());
+        addAttribute(doc, "quality", venue.getQuality());
+
+        if (venue.getPartner() != null) {
+            doc.add(new StoredField("partner_id", venue.getPartner().getUser_id()));
+        }
+
+        if (venue.getStatus() != null) {
+            doc.add(new StringField("status_key", normalize(venue.getStatus()), Field.Store.NO));
+            doc.add(new StoredField("status", venue.getStatus()));
+        }
+
+        if (venue.getPrice() != null) {
+            double price = venue.getPrice().doubleValue();
+            doc.add(new DoublePoint("price", price));
+            doc.add(new DoubleDocValuesField("price_sort", price));
+            doc.add(new StoredField("price_value", venue.getPrice().toPlainString()));
+        }
+
+        if (venue.getCreatedAt() != null) {
+            long created = venue.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            doc.add(new NumericDocValuesField("created_sort", created));
+        }
+
+        if (venue.getImageUrls() != null) {
+            for (String url : venue.getImageUrls()) {
+                doc.add(new StoredField("image", url));
+            }
+        }
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    // Attributes are searchable text, exact-match filters and facets
+    private static void addAttribute(Document doc, String field, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        doc.add(new TextField(field, value, Field.Store.YES));
+        doc.add(new StringField(field + "_key", normalize(value), Field.Store.NO));
+        doc.add(new SortedSetDocValuesFacetField(field, value.trim()));
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static VenueDTO toDTO(Document doc) {
+        VenueDTO dto = new VenueDTO();
+        dto.setVenue_id(Long.valueOf(doc.get("id")));
+        dto.setVenueName(doc.get("name"));
+        dto.setDescription(doc.get("description"));
+        dto.setLocation(doc.get("location"));
+        dto.setCategory(doc.get("category"));
+        dto.setBrand(doc.get("brand"));
+        dto.setSize(doc.get("size"));
+        dto.setQuality(doc.get("quality"));
+        dto.setStatus(doc.get("status"));
+        if (doc.get("price_value") != null) {
+            dto.setPrice(new BigDecimal(doc.get("price_value")));
+        }
+        if (doc.getField("partner_id") != null) {
+            dto.setPartnerId(doc.getField("partner_id").numericValue().longValue());
+        }
+        dto.setImageUrls(new ArrayList<>(List.of(doc.getValues("image"))));
+        return dto;
+    }
+}
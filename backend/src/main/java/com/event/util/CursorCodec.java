@@ -0,0 +1,38 @@
+package com.event.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.event.service.BadRequestException;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe continuation tokens.
+ * Clients pass the token back unchanged; its layout is not part of the API.
+ */
+public class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append(SEPARATOR);
+            sb.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != expectedParts) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -5,49 +5,57 @@ import org.springframework.stereotype.Component;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.util.Base64;
 
 @Component
 public class SignatureUtil {
-    
-    private static String merchantSecret;
-    
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static volatile SecretKeySpec secretKey;
+
+    // Mac is not thread-safe; each thread keeps one, re-initialised only if the key changes
+    private static final ThreadLocal<KeyedMac> MACS = new ThreadLocal<>();
+
+    private record KeyedMac(SecretKeySpec key, Mac mac) {
+    }
+
     @Value("${esewa.merchant.secret}")
     public void setMerchantSecret(String secret) {
-        merchantSecret = secret;
+        secretKey = (secret == null || secret.isEmpty())
+                ? null
+                : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
     }
-    
+
     public static String generateSignature(String message) {
+        SecretKeySpec key = secretKey;
+        if (key == null) {
+            throw new RuntimeException("Merchant secret is not configured");
+        }
         try {
-            System.out.println("Generating signature for message: " + message);
-            System.out.println("Using secret key: " + merchantSecret);
-            
-            if (merchantSecret == null || merchantSecret.isEmpty()) {
-                throw new RuntimeException("Merchant secret is not configured");
-            }
-            
-            Mac sha256_HMAC = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(
-                merchantSecret.getBytes(StandardCharsets.UTF_8), 
-                "HmacSHA256"
-            );
-            sha256_HMAC.init(secretKeySpec);
-            
-            byte[] hash = sha256_HMAC.doFinal(message.getBytes(StandardCharsets.UTF_8));
-            String signature = Base64.getEncoder().encodeToString(hash);
-            
-            System.out.println("Generated signature: " + signature);
-            return signature;
-        } catch (Exception e) {
-            System.err.println("Error generating signature: " + e.getMessage());
+            byte[] hash = mac(key).doFinal(message.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (GeneralSecurityException e) {
             throw new RuntimeException("Failed to generate eSewa signature", e);
         }
     }
-    
+
     // Alternative method for specific parameter order
     public static String generateEsewaSignature(String totalAmount, String transactionUuid, String productCode) {
         String message = String.format("total_amount=%s,transaction_uuid=%s,product_code=%s",
                 totalAmount, transactionUuid, productCode);
         return generateSignature(message);
     }
-}
\ No newline at end of file
+
+    private static Mac mac(SecretKeySpec key) throws GeneralSecurityException {
+        KeyedMac cached = MACS.get();
+        if (cached != null && cached.key() == key) {
+            return cached.mac();
+        }
+        Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(key);
+        MACS.set(new KeyedMac(key, mac));
+        return mac;
+    }
+}
@@ -0,0 +1,81 @@
+package com.eventmanagementbackend.backendEvent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.event.BackendEventApplication;
+import com.event.service.CartService;
+
+@SpringBootTest(classes = BackendEventApplication.class)
+class CartServiceConcurrencyTests {
+
+    private static final int THREADS = 16;
+    private static final int ADDS_PER_THREAD = 25;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Ids far outside the normal range so the test never touches real carts
+    private final long userId = 900_000_000L + ThreadLocalRandom.current().nextInt(1_000_000);
+    private final long venueId = 900_000_000L + ThreadLocalRandom.current().nextInt(1_000_000);
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE ci FROM cart_items ci JOIN cart c ON c.id = ci.cart_id WHERE c.user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM cart WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void concurrentAddsKeepOneCartAndEveryQuantity() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                        cartService.addToCart(userId, venueId, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Integer carts = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart WHERE user_id = ?", Integer.class, userId);
+        Integer items = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_items ci JOIN cart c ON c.id = ci.cart_id WHERE c.user_id = ?",
+                Integer.class, userId);
+        Integer quantity = jdbcTemplate.queryForObject(
+                "SELECT ci.quantity FROM cart_items ci JOIN cart c ON c.id = ci.cart_id WHERE c.user_id = ?",
+                Integer.class, userId);
+
+        assertEquals(1, carts);
+        assertEquals(1, items);
+        assertEquals(THREADS * ADDS_PER_THREAD, quantity);
+    }
+}
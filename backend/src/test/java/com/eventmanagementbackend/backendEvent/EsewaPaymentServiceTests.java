@@ -0,0 +1,183 @@
+package com.eventmanagementbackend.backendEvent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.event.config.OutboundMetrics;
+import com.event.config.RestTemplateConfig;
+import com.event.model.Order;
+import com.event.repository.OrderRepo;
+import com.event.service.EsewaPaymentService;
+import com.event.util.SignatureUtil;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs EsewaPaymentService against a local stub of the eSewa status endpoint.
+ */
+class EsewaPaymentServiceTests {
+
+    private static final String TRANSACTION = "txn-test-1";
+    private static final String AMOUNT = "1500.00";
+
+    private HttpServer stub;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ConcurrentLinkedQueue<String> requestBodies = new ConcurrentLinkedQueue<>();
+
+    // Status code and body for the n-th call (1-based); a negative status means "hang"
+    private volatile IntFunction<Object[]> responder = n -> new Object[] { 200, "{\"status\":\"COMPLETE\"}" };
+
+    private EsewaPaymentService service;
+    private Order order;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/verify", exchange -> {
+            requestBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            Object[] reply = responder.apply(calls.incrementAndGet());
+            int status = (Integer) reply[0];
+            if (status < 0) {
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                status = 200;
+            }
+            byte[] body = ((String) reply[1]).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+
+        new SignatureUtil().setMerchantSecret("test-secret");
+
+        order = new Order();
+        order.setTransactionUuid(TRANSACTION);
+        order.setStatus("Payment Pending");
+        OrderRepo orderRepo = mock(OrderRepo.class);
+        when(orderRepo.findByTransactionUuid(TRANSACTION)).thenReturn(Optional.of(order));
+        when(orderRepo.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new EsewaPaymentService();
+        ReflectionTestUtils.setField(service, "orderRepo", orderRepo);
+        ReflectionTestUtils.setField(service, "outboundMetrics", new OutboundMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "restTemplate",
+                new RestTemplateConfig().gatewayRestTemplate(500, 500, 2));
+        ReflectionTestUtils.setField(service, "productCode", "EPAYTEST");
+        ReflectionTestUtils.setField(service, "verificationUrl",
+                "http://127.0.0.1:" + stub.getAddress().getPort() + "/verify");
+        ReflectionTestUtils.setField(service, "maxVerifyAttempts", 4);
+        ReflectionTestUtils.setField(service, "verifyBackoffMs", 50L);
+        ReflectionTestUtils.setField(service, "verifyThreads", 1);
+        ReflectionTestUtils.invokeMethod(service, "startVerifier");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(service, "stopVerifier");
+        stub.stop(0);
+    }
+
+    @Test
+    void syncVerificationMarksOrderPaid() {
+        assertTrue(service.verifyPayment(TRANSACTION, AMOUNT));
+        assertEquals("Paid", order.getStatus());
+
+        String body = requestBodies.peek();
+        assertTrue(body.contains("\"transaction_uuid\":\"" + TRANSACTION + "\""));
+        assertTrue(body.contains(SignatureUtil.generateEsewaSignature(AMOUNT, TRANSACTION, "EPAYTEST")));
+    }
+
+    @Test
+    void syncVerificationGivesUpOnSlowGateway() {
+        responder = n -> new Object[] { -1, "{\"status\":\"COMPLETE\"}" };
+
+        long start = System.currentTimeMillis();
+        assertFalse(service.verifyPayment(TRANSACTION, AMOUNT));
+        assertTrue(System.currentTimeMillis() - start < 1900, "read timeout should cut the call short");
+        assertEquals("Payment Pending", order.getStatus());
+    }
+
+    @Test
+    void asyncVerificationRetriesUntilComplete() throws InterruptedException {
+        responder = n -> switch (n) {
+            case 1 -> new Object[] { 503, "{}" };
+            case 2 -> new Object[] { 200, "{\"status\":\"PENDING\"}" };
+            default -> new Object[] { 200, "{\"status\":\"COMPLETE\"}" };
+        };
+
+        assertTrue(service.verifyPaymentAsync(TRANSACTION, AMOUNT));
+        awaitStatus("Paid", 5000);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void asyncVerificationRetriesWhenOrderSaveFails() throws InterruptedException {
+        // Each lookup returns a fresh copy, so only a save that goes through changes the stored order
+        OrderRepo orderRepo = (OrderRepo) ReflectionTestUtils.getField(service, "orderRepo");
+        when(orderRepo.findByTransactionUuid(TRANSACTION)).thenAnswer(invocation -> {
+            Order copy = new Order();
+            copy.setTransactionUuid(TRANSACTION);
+            copy.setStatus(order.getStatus());
+            return Optional.of(copy);
+        });
+        when(orderRepo.save(any(Order.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenAnswer(invocation -> {
+                    order.setStatus(invocation.<Order>getArgument(0).getStatus());
+                    return invocation.getArgument(0);
+                });
+
+        assertTrue(service.verifyPaymentAsync(TRANSACTION, AMOUNT));
+        awaitStatus("Paid", 5000);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void asyncVerificationStopsAfterMaxAttempts() throws InterruptedException {
+        responder = n -> new Object[] { 503, "{}" };
+
+        assertTrue(service.verifyPaymentAsync(TRANSACTION, AMOUNT));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (calls.get() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(500);
+
+        assertEquals(4, calls.get());
+        assertEquals("Payment Pending", order.getStatus());
+    }
+
+    private void awaitStatus(String expected, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!expected.equals(order.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, order.getStatus());
+    }
+}
@@ -0,0 +1,69 @@
+package com.eventmanagementbackend.backendEvent.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects latencies of successful requests for one scenario; failures are only counted. Each
+ * worker thread records into its own buffer and hands it over when it finishes, so recording never
+ * contends. Percentiles are computed once at the end from the merged, sorted samples (nearest rank).
+ */
+public class LatencyRecorder {
+
+    private final String scenario;
+    private final AtomicLong errors = new AtomicLong();
+    private long[] samples = new long[0];
+    private long wallNanos;
+
+    public record Summary(String scenario, long succeeded, long errors, double throughputPerSecond,
+            double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    /** One worker's samples; not thread-safe, owned by that worker until {@link #merge}. */
+    public static class Buffer {
+        private long[] nanos = new long[1024];
+        private int size;
+
+        public void record(long latencyNanos) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latencyNanos;
+        }
+    }
+
+    public LatencyRecorder(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public void error() {
+        errors.incrementAndGet();
+    }
+
+    public synchronized void merge(Buffer buffer) {
+        int offset = samples.length;
+        samples = Arrays.copyOf(samples, offset + buffer.size);
+        System.arraycopy(buffer.nanos, 0, samples, offset, buffer.size);
+    }
+
+    public synchronized void finish(long wallNanos) {
+        this.wallNanos = wallNanos;
+        Arrays.sort(samples);
+    }
+
+    public synchronized Summary summary() {
+        double seconds = wallNanos / 1e9;
+        return new Summary(scenario, samples.length, errors.get(),
+                seconds > 0 ? samples.length / seconds : 0,
+                percentileMs(0.50), percentileMs(0.95), percentileMs(0.99),
+                samples.length > 0 ? samples[samples.length - 1] / 1e6 : 0);
+    }
+
+    private double percentileMs(double p) {
+        if (samples.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * samples.length);
+        return samples[Math.max(0, rank - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,215 @@
+package com.eventmanagementbackend.backendEvent.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fills an empty schema with load-test data through JDBC batches, bypassing JPA so millions of rows
+ * load in seconds to minutes rather than hours. Rows are deterministic (derived from their index),
+ * so two runs with the same sizes see the same data.
+ *
+ * Listeners, caches and the search index are not told about the seeded rows; the scenarios use
+ * endpoints that read from the database (keyset listing, detail cache misses, cart, notifications).
+ */
+public class LoadTestSeeder {
+
+    private static final int BATCH_SIZE = 5000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final String[] CATEGORIES = { "Clothing", "Shoes", "Bags", "Accessories", "Books" };
+    private static final String[] BRANDS = { "Levi's", "Nike", "Zara", "H&M", "Goldstar", "Unbranded" };
+    private static final String[] SIZES = { "XS", "S", "M", "L", "XL" };
+    private static final String[] QUALITIES = { "Like new", "Good", "Fair" };
+
+    /** How many rows of each kind to create. */
+    public record Sizes(int users, int partners, int venues, int orders, int notifications) {
+
+        /** Sizes from loadtest.* system properties, e.g. -Dloadtest.venues=2000000. */
+        public static Sizes fromSystemProperties() {
+            return new Sizes(
+                    Integer.getInteger("loadtest.users", 10_000),
+                    Integer.getInteger("loadtest.partners", 200),
+                    Integer.getInteger("loadtest.venues", 200_000),
+                    Integer.getInteger("loadtest.orders", 100_000),
+                    Integer.getInteger("loadtest.notifications", 200_000));
+        }
+    }
+
+    /** Ids of what was created, for the scenarios to pick from. */
+    public record Seeded(long[] attendeeIds, long[] venueIds) {
+
+        public String attendeeEmail(long userId) {
+            return "loadtest-user-" + userId + "@example.com";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoadTestSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Seeded seed(Sizes sizes) {
+        long started = System.currentTimeMillis();
+
+        insertUsers("PARTNER", "PARTNER", sizes.partners());
+        insertUsers("USER", "ATTENDEE", sizes.users());
+        jdbcTemplate.update("INSERT INTO partner (user_id) SELECT user_id FROM user WHERE user_type = 'PARTNER'");
+        jdbcTemplate.update("INSERT INTO attendee (user_id) SELECT user_id FROM user WHERE user_type = 'USER'");
+        // Seeded emails are keyed by user id so a token can be minted for any attendee
+        jdbcTemplate.update("UPDATE user SET email = CONCAT('loadtest-user-', user_id, '@example.com')");
+
+        long[] partnerIds = ids("SELECT user_id FROM partner ORDER BY user_id");
+        long[] attendeeIds = ids("SELECT user_id FROM attendee ORDER BY user_id");
+
+        insertVenues(sizes.venues(), partnerIds);
+        insertOrders(sizes.orders(), attendeeIds);
+        jdbcTemplate.update("""
+                INSERT INTO order_item (order_id, venue_id, quantity, price, address)
+                SELECT order_id, MOD(order_id, ?) + 1, 1, total_amount, address FROM orders
+                """, Math.max(1, sizes.venues()));
+        insertNotifications(sizes.notifications(), attendeeIds);
+
+        // Venues still for sale, oldest first; checkouts consume them in this order
+        long[] venueIds = ids("SELECT venue_id FROM venue WHERE status = 'Available' ORDER BY venue_id");
+
+        System.out.println("🌱 Seeded " + attendeeIds.length + " attendees, " + partnerIds.length + " partners, "
+                + sizes.venues() + " venues, " + sizes.orders() + " orders, " + sizes.notifications()
+                + " notifications in " + (System.currentTimeMillis() - started) + " ms");
+        return new Seeded(attendeeIds, venueIds);
+    }
+
+    /** Gives each of these users a cart holding one venue, so cart reads have something to show. */
+    public void insertCarts(long[] userIds, int venues) {
+        batch("INSERT INTO cart (user_id, created_at) VALUES (?, ?)", userIds.length, (ps, i) -> {
+            ps.setLong(1, userIds[i]);
+            ps.setTimestamp(2, Timestamp.valueOf(START));
+        });
+        jdbcTemplate.update("""
+                INSERT INTO cart_items (cart_id, venue_id, quantity)
+                SELECT id, MOD(user_id, ?) + 1, 1 FROM cart
+                """, Math.max(1, venues));
+    }
+
+    private void insertUsers(String userType, String role, int count) {
+        // Emails get their final, id-based value once the ids are known
+        batch("""
+                INSERT INTO user (user_type, role, email, password, fullname, status, created_at, join_date)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, count, (ps, i) -> {
+            Timestamp created = Timestamp.valueOf(START.plusMinutes(i * 7L));
+            ps.setString(1, userType);
+            ps.setString(2, role);
+            ps.setString(3, "seed-" + userType.toLowerCase() + "-" + i + "@example.com");
+            ps.setString(4, "not-a-password-hash");
+            ps.setString(5, (userType.equals("PARTNER") ? "Partner " : "Buyer ") + i);
+            ps.setString(6, "Verified");
+            ps.setTimestamp(7, created);
+            ps.setTimestamp(8, created);
+        });
+    }
+
+    private void insertVenues(int count, long[] partnerIds) {
+        batch("""
+                INSERT INTO venue (venue_name, partner_id, location, quality, brand, size, price, category,
+                                   status, description, created_at, join_date)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, count, (ps, i) -> {
+            Timestamp created = Timestamp.valueOf(START.plusSeconds(i * 53L));
+            ps.setString(1, BRANDS[i % BRANDS.length] + " " + CATEGORIES[i % CATEGORIES.length] + " #" + i);
+            if (partnerIds.length > 0) {
+                ps.setLong(2, partnerIds[i % partnerIds.length]);
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, "Kathmandu");
+            ps.setString(4, QUALITIES[i % QUALITIES.length]);
+            ps.setString(5, BRANDS[i % BRANDS.length]);
+            ps.setString(6, SIZES[i % SIZES.length]);
+            ps.setBigDecimal(7, BigDecimal.valueOf(200 + (i * 37L) % 9800));
+            ps.setString(8, CATEGORIES[i % CATEGORIES.length]);
+            // A fifth of the catalogue is already sold
+            ps.setString(9, i % 5 == 0 ? "inactive" : "Available");
+            ps.setString(10, "Seeded listing " + i + ". Lightly used, photos on request.");
+            ps.setTimestamp(11, created);
+            ps.setTimestamp(12, created);
+        });
+    }
+
+    private void insertOrders(int count, long[] attendeeIds) {
+        if (attendeeIds.length == 0) {
+            return;
+        }
+        String[] statuses = { "Pending", "Paid", "Completed", "Cancelled", "Payment Pending" };
+        batch("""
+                INSERT INTO orders (user_id, user_email, payment_method, status, address, created_at,
+                                    total_amount, transaction_uuid)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, count, (ps, i) -> {
+            long userId = attendeeIds[i % attendeeIds.length];
+            boolean esewa = i % 2 == 0;
+            ps.setLong(1, userId);
+            ps.setString(2, "loadtest-user-" + userId + "@example.com");
+            ps.setString(3, esewa ? "ESEWA" : "COD");
+            ps.setString(4, statuses[i % statuses.length]);
+            ps.setString(5, "Baneshwor, Kathmandu");
+            ps.setTimestamp(6, Timestamp.valueOf(START.plusSeconds(i * 29L)));
+            ps.setBigDecimal(7, BigDecimal.valueOf(500 + (i * 41L) % 9500));
+            ps.setString(8, esewa ? "seed-" + i : null);
+        });
+    }
+
+    private void insertNotifications(int count, long[] attendeeIds) {
+        if (attendeeIds.length == 0) {
+            return;
+        }
+        batch("""
+                INSERT INTO notifications (user_id, title, message, type, status, booking_id, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, count, (ps, i) -> {
+            ps.setLong(1, attendeeIds[i % attendeeIds.length]);
+            ps.setString(2, "Order update");
+            ps.setString(3, "Your order #" + i + " status has been updated.");
+            ps.setString(4, i % 3 == 0 ? "ORDER" : "ORDER_STATUS");
+            ps.setString(5, i % 4 == 0 ? "UNREAD" : "READ");
+            ps.setLong(6, i + 1L);
+            ps.setTimestamp(7, Timestamp.valueOf(START.plusSeconds(i * 17L)));
+        });
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int index) throws SQLException;
+    }
+
+    private void batch(String sql, int count, RowSetter setter) {
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            int offset = from;
+            int size = Math.min(BATCH_SIZE, count - from);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setter.set(ps, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    private long[] ids(String sql) {
+        List<Long> ids = jdbcTemplate.queryForList(sql, Long.class);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
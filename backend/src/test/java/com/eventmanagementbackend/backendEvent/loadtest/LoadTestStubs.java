@@ -0,0 +1,101 @@
+package com.eventmanagementbackend.backendEvent.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.cloudinary.Cloudinary;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Local stand-ins for the external services during a load test. SMTP is replaced by a mail sender
+ * that only counts messages, and Cloudinary is pointed at an in-process HTTP stub that answers
+ * every upload or destroy call with a fake result. eSewa status checks go to EsewaStubController
+ * through the esewa-stub profile.
+ */
+@TestConfiguration
+public class LoadTestStubs {
+
+    /** Counts what would have been sent; the message is built as usual but never leaves the JVM. */
+    public static class RecordingMailSender extends JavaMailSenderImpl {
+
+        private final AtomicLong sent = new AtomicLong();
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+            sent.addAndGet(mimeMessages.length);
+        }
+
+        public long sentCount() {
+            return sent.get();
+        }
+    }
+
+    @Bean
+    @Primary
+    public RecordingMailSender recordingMailSender() {
+        return new RecordingMailSender();
+    }
+
+    /** Answers Cloudinary upload and destroy calls with a fake result. */
+    public static class CloudinaryStub implements AutoCloseable {
+
+        private final HttpServer server;
+
+        CloudinaryStub() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                String publicId = "loadtest/" + UUID.randomUUID();
+                String body = exchange.getRequestURI().getPath().endsWith("/destroy")
+                        ? "{\"result\":\"ok\"}"
+                        : "{\"public_id\":\"" + publicId + "\",\"secure_url\":\"http://127.0.0.1/" + publicId
+                                + ".jpg\",\"url\":\"http://127.0.0.1/" + publicId + ".jpg\"}";
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            });
+            server.start();
+        }
+
+        public int port() {
+            return server.getAddress().getPort();
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+        }
+    }
+
+    @Bean
+    public CloudinaryStub cloudinaryStub() throws IOException {
+        return new CloudinaryStub();
+    }
+
+    @Bean
+    @Primary
+    public Cloudinary stubCloudinary(CloudinaryStub cloudinaryStub) {
+        return new Cloudinary(Map.of(
+                "cloud_name", "loadtest",
+                "api_key", "loadtest",
+                "api_secret", "loadtest",
+                "upload_prefix", "http://127.0.0.1:" + cloudinaryStub.port()));
+    }
+}
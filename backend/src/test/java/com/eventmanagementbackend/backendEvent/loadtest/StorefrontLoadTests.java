@@ -0,0 +1,331 @@
+package com.eventmanagementbackend.backendEvent.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.event.BackendEventApplication;
+import com.event.configuration.JwtUtil;
+import com.eventmanagementbackend.backendEvent.loadtest.LatencyRecorder.Summary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drives the storefront's busiest flows over HTTP against a seeded embedded database and reports
+ * p50/p95/p99 latency and throughput per scenario. Skipped unless loadtest.enabled=true:
+ *
+ *   mvn -Ploadtest test
+ *   mvn -Ploadtest test -Dloadtest.venues=2000000 -Dloadtest.orders=2000000 -Dloadtest.threads=32
+ *
+ * Knobs (system properties): loadtest.users/partners/venues/orders/notifications (seed sizes),
+ * loadtest.threads, loadtest.warmup-seconds, loadtest.duration-seconds, loadtest.max-error-rate and
+ * loadtest.report (JSON report path, default target/loadtest-report.json).
+ *
+ * Each scenario runs on its own after a warm-up, with loadtest.threads closed-loop clients, until
+ * the duration is up or it runs out of input (checkouts need unsold venues). Numbers
+ * from H2 are for comparing builds against each other, not for predicting MySQL latency.
+ */
+@SpringBootTest(classes = BackendEventApplication.class, webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+@ActiveProfiles({ "loadtest", "esewa-stub" })
+@Import(LoadTestStubs.class)
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StorefrontLoadTests {
+
+    // Tokens are minted up front for this many attendees so the clients don't pay for signing
+    private static final int TOKENED_USERS = 2000;
+
+    private final int threads = Integer.getInteger("loadtest.threads", 16);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private LoadTestStubs.RecordingMailSender mailSender;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${server.port}")
+    private int port;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private LoadTestSeeder.Seeded seeded;
+    private long[] userIds;
+    private String[] tokens;
+
+    // Checkouts take venues in order so two checkouts never race for the same item
+    private final AtomicInteger nextVenue = new AtomicInteger();
+    // eSewa checkouts waiting for their gateway redirect
+    private final ConcurrentLinkedQueue<String[]> pendingPayments = new ConcurrentLinkedQueue<>();
+
+    @FunctionalInterface
+    interface Scenario {
+        /** Issues one request (or one short sequence) and returns whether it succeeded. */
+        boolean call(ThreadLocalRandom random) throws Exception;
+    }
+
+    /** Thrown by a scenario that has run out of input (venues to buy, payments to return). */
+    static final class Exhausted extends RuntimeException {
+        Exhausted(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private record Step(Scenario scenario, boolean warmUp) {
+    }
+
+    @BeforeAll
+    void seed() {
+        LoadTestSeeder seeder = new LoadTestSeeder(jdbcTemplate);
+        LoadTestSeeder.Sizes sizes = LoadTestSeeder.Sizes.fromSystemProperties();
+        seeded = seeder.seed(sizes);
+        int n = Math.min(TOKENED_USERS, seeded.attendeeIds().length);
+        userIds = new long[n];
+        tokens = new String[n];
+        for (int i = 0; i < n; i++) {
+            userIds[i] = seeded.attendeeIds()[i];
+            tokens[i] = jwtUtil.generateToken(seeded.attendeeEmail(userIds[i]), "ATTENDEE", userIds[i]);
+        }
+        // viewCart picks any tokened user, and a user without a cart gets a 404
+        seeder.insertCarts(userIds, sizes.venues());
+    }
+
+    @Test
+    void storefrontUnderLoad() throws Exception {
+        assertTrue(userIds.length > 0 && seeded.venueIds().length > 0, "seed at least one attendee and venue");
+
+        Map<String, Step> scenarios = new LinkedHashMap<>();
+        scenarios.put("browse GET /venues/page", new Step(this::browse, true));
+        scenarios.put("detail GET /venues/{id}", new Step(this::venueDetail, true));
+        scenarios.put("cart POST /cart/add", new Step(this::addToCart, true));
+        scenarios.put("cart GET /cart/{userId}", new Step(this::viewCart, true));
+        scenarios.put("checkout POST /api/orders/checkout", new Step(this::checkout, true));
+        // Replays the eSewa checkouts above, so it is not warmed up separately
+        scenarios.put("payment GET /api/payments/esewa/success", new Step(this::esewaReturn, false));
+        scenarios.put("poll GET /notifications/user/{id}/unread-count", new Step(this::pollUnreadCount, true));
+        scenarios.put("inbox GET /notifications/user/{id}", new Step(this::inbox, true));
+
+        List<Summary> results = new ArrayList<>();
+        for (Map.Entry<String, Step> entry : scenarios.entrySet()) {
+            Step step = entry.getValue();
+            if (step.warmUp()) {
+                drive(new LatencyRecorder(entry.getKey()), step.scenario(), warmupSeconds);
+            }
+            LatencyRecorder recorder = new LatencyRecorder(entry.getKey());
+            drive(recorder, step.scenario(), durationSeconds);
+            results.add(recorder.summary());
+        }
+
+        report(results);
+        for (Summary summary : results) {
+            long total = summary.succeeded() + summary.errors();
+            assertTrue(summary.succeeded() > 0, summary.scenario() + ": no successful requests");
+            assertTrue((double) summary.errors() / total <= maxErrorRate,
+                    summary.scenario() + ": " + summary.errors() + " of " + total + " requests failed");
+        }
+    }
+
+    // ---------- scenarios ----------
+
+    private boolean browse(ThreadLocalRandom random) throws Exception {
+        HttpResponse<String> first = get("/venues/page?size=20", null);
+        if (!ok(first)) {
+            return false;
+        }
+        // Half the visitors look at the second page as well
+        String cursor = objectMapper.readTree(first.body()).path("nextCursor").asText(null);
+        return cursor == null || random.nextBoolean() || ok(get("/venues/page?size=20&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8), null));
+    }
+
+    private boolean venueDetail(ThreadLocalRandom random) throws Exception {
+        long[] venues = seeded.venueIds();
+        return ok(get("/venues/" + venues[random.nextInt(venues.length)], null));
+    }
+
+    private boolean addToCart(ThreadLocalRandom random) throws Exception {
+        int user = random.nextInt(userIds.length);
+        long[] venues = seeded.venueIds();
+        return ok(post("/cart/add?userId=" + userIds[user] + "&venueId=" + venues[random.nextInt(venues.length)]
+                + "&quantity=1", null, tokens[user]));
+    }
+
+    private boolean viewCart(ThreadLocalRandom random) throws Exception {
+        int user = random.nextInt(userIds.length);
+        return ok(get("/cart/" + userIds[user], tokens[user]));
+    }
+
+    private boolean checkout(ThreadLocalRandom random) throws Exception {
+        long[] venues = seeded.venueIds();
+        int index = nextVenue.getAndIncrement();
+        if (index >= venues.length) {
+            throw new Exhausted("catalogue sold out; seed more venues for longer runs");
+        }
+        int user = random.nextInt(userIds.length);
+        boolean esewa = random.nextBoolean();
+        Map<String, Object> request = Map.of(
+                "userId", userIds[user],
+                "userEmail", seeded.attendeeEmail(userIds[user]),
+                "address", "Baneshwor, Kathmandu",
+                "paymentMethod", esewa ? "ESEWA" : "COD",
+                "subtotal", 1500,
+                "deliveryCost", 0,
+                "totalAmount", 1500,
+                "items", List.of(Map.of("venueId", venues[index], "quantity", 1, "price", 1500)));
+
+        HttpResponse<String> response = post("/api/orders/checkout", objectMapper.writeValueAsString(request),
+                tokens[user]);
+        if (!ok(response)) {
+            return false;
+        }
+        if (esewa) {
+            JsonNode form = objectMapper.readTree(response.body()).path("esewaPaymentRequest");
+            pendingPayments.add(new String[] { form.path("transaction_uuid").asText(),
+                    form.path("total_amount").asText() });
+        }
+        return true;
+    }
+
+    // The browser redirect back from eSewa; verification runs against EsewaStubController
+    private boolean esewaReturn(ThreadLocalRandom random) throws Exception {
+        String[] payment = pendingPayments.poll();
+        if (payment == null) {
+            throw new Exhausted("every eSewa checkout has been returned");
+        }
+        return ok(get("/api/payments/esewa/success?transaction_uuid=" + payment[0] + "&total_amount=" + payment[1],
+                null));
+    }
+
+    private boolean pollUnreadCount(ThreadLocalRandom random) throws Exception {
+        int user = random.nextInt(userIds.length);
+        return ok(get("/notifications/user/" + userIds[user] + "/unread-count", tokens[user]));
+    }
+
+    private boolean inbox(ThreadLocalRandom random) throws Exception {
+        int user = random.nextInt(userIds.length);
+        return ok(get("/notifications/user/" + userIds[user], tokens[user]));
+    }
+
+    // ---------- driver ----------
+
+    private void drive(LatencyRecorder recorder, Scenario scenario, int seconds) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                LatencyRecorder.Buffer buffer = new LatencyRecorder.Buffer();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    long began = System.nanoTime();
+                    boolean succeeded;
+                    try {
+                        succeeded = scenario.call(random);
+                    } catch (Exhausted e) {
+                        break;
+                    } catch (Exception e) {
+                        succeeded = false;
+                    }
+                    if (succeeded) {
+                        buffer.record(System.nanoTime() - began);
+                    } else {
+                        recorder.error();
+                    }
+                }
+                recorder.merge(buffer);
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        recorder.finish(System.nanoTime() - start);
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return http.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json, String token)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher body = json != null
+                ? HttpRequest.BodyPublishers.ofString(json)
+                : HttpRequest.BodyPublishers.noBody();
+        return http.send(request(path, token).header("Content-Type", "application/json").POST(body).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private void report(List<Summary> results) throws IOException {
+        StringBuilder table = new StringBuilder(String.format("%n%-50s %9s %7s %9s %9s %9s %9s %9s%n",
+                "scenario", "ok", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Summary s : results) {
+            table.append(String.format("%-50s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", s.scenario(), s.succeeded(),
+                    s.errors(), s.throughputPerSecond(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs()));
+        }
+        table.append(threads).append(" clients, ").append(durationSeconds).append(" s per scenario, ")
+                .append(mailSender.sentCount()).append(" emails captured by the SMTP stub");
+        System.out.println("📈 Load test results:" + table);
+
+        Path path = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("threads", threads);
+        json.put("durationSeconds", durationSeconds);
+        json.put("seed", LoadTestSeeder.Sizes.fromSystemProperties());
+        json.put("scenarios", results);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), json);
+    }
+}
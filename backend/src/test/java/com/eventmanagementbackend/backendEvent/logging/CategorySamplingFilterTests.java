@@ -0,0 +1,80 @@
+package com.eventmanagementbackend.backendEvent.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.event.config.CategorySamplingFilter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+
+class CategorySamplingFilterTests {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void keepsOneInNOfASampledCategory() {
+        CategorySamplingFilter filter = filter("org.springframework.security=0.1");
+
+        assertEquals(10, passed(filter, "org.springframework.security.web.FilterChainProxy", Level.DEBUG, 100));
+    }
+
+    @Test
+    void alwaysPassesWarnAndError() {
+        CategorySamplingFilter filter = filter("org.springframework.security=0");
+
+        assertEquals(0, passed(filter, "org.springframework.security.web.FilterChainProxy", Level.INFO, 50));
+        assertEquals(50, passed(filter, "org.springframework.security.web.FilterChainProxy", Level.WARN, 50));
+        assertEquals(50, passed(filter, "org.springframework.security.web.FilterChainProxy", Level.ERROR, 50));
+    }
+
+    @Test
+    void mostSpecificCategoryWins() {
+        CategorySamplingFilter filter = filter("org.springframework=0, org.springframework.web.cors=1");
+
+        assertEquals(20, passed(filter, "org.springframework.web.cors.DefaultCorsProcessor", Level.DEBUG, 20));
+        assertEquals(0, passed(filter, "org.springframework.web.servlet.DispatcherServlet", Level.DEBUG, 20));
+    }
+
+    @Test
+    void matchesWholePackageSegmentsOnly() {
+        CategorySamplingFilter filter = filter("com.event.config=0");
+
+        assertEquals(0, passed(filter, "com.event.config", Level.INFO, 5));
+        assertEquals(0, passed(filter, "com.event.config.RequestMetricsFilter", Level.INFO, 5));
+        assertEquals(5, passed(filter, "com.event.configuration.JwtRequestFilter", Level.INFO, 5));
+        assertEquals(5, passed(filter, "com.event.service.OrderService", Level.INFO, 5));
+    }
+
+    @Test
+    void ignoresMalformedEntries() {
+        CategorySamplingFilter filter = filter("org.hibernate=lots, =0.5, org.apache, org.springframework.security=0.5");
+
+        assertEquals(5, passed(filter, "org.hibernate.SQL", Level.DEBUG, 5));
+        assertEquals(5, passed(filter, "org.apache.catalina.Server", Level.DEBUG, 5));
+        assertEquals(5, passed(filter, "org.springframework.security.Foo", Level.DEBUG, 10));
+    }
+
+    private CategorySamplingFilter filter(String spec) {
+        CategorySamplingFilter filter = new CategorySamplingFilter();
+        filter.setContext(context);
+        filter.setCategories(spec);
+        filter.start();
+        return filter;
+    }
+
+    private int passed(CategorySamplingFilter filter, String loggerName, Level level, int events) {
+        int passed = 0;
+        for (int i = 0; i < events; i++) {
+            LoggingEvent event = new LoggingEvent(getClass().getName(), context.getLogger(loggerName), level,
+                    "event " + i, null, null);
+            if (filter.decide(event) != FilterReply.DENY) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+}
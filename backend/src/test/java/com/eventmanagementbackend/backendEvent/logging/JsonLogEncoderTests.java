@@ -0,0 +1,77 @@
+package com.eventmanagementbackend.backendEvent.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.event.config.JsonLogEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+class JsonLogEncoderTests {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        String line = encode(event("Order {} placed", new Object[] { 42 }, null, Map.of("requestId", "r-1")));
+        assertTrue(line.endsWith("\n"));
+        assertEquals(1, line.split("\n").length);
+
+        JsonNode json = objectMapper.readTree(line);
+        assertEquals("INFO", json.path("level").asText());
+        assertEquals("thrift", json.path("service").asText());
+        assertEquals("com.event.service.OrderService", json.path("logger").asText());
+        assertEquals("Order 42 placed", json.path("message").asText());
+        assertEquals("r-1", json.path("mdc").path("requestId").asText());
+        assertFalse(json.has("exception"));
+    }
+
+    @Test
+    void redactsMessageMdcAndStackTrace() throws Exception {
+        String line = encode(event("Refresh with Bearer {} failed", new Object[] { "abc.def.ghi" },
+                new IllegalStateException("password=hunter2 rejected"), Map.of("auth", "token=s3cr3t")));
+        assertFalse(line.contains("abc.def.ghi"));
+        assertFalse(line.contains("hunter2"));
+        assertFalse(line.contains("s3cr3t"));
+
+        JsonNode json = objectMapper.readTree(line);
+        assertEquals("Refresh with Bearer [REDACTED] failed", json.path("message").asText());
+        assertEquals("token=[REDACTED]", json.path("mdc").path("auth").asText());
+        assertEquals(IllegalStateException.class.getName(), json.path("exception").asText());
+        assertTrue(json.path("stack_trace").asText().contains("password=[REDACTED] rejected"));
+    }
+
+    @Test
+    void escapesMessagesThatWouldBreakTheLine() throws Exception {
+        String line = encode(event("multi\nline \"quoted\" message", null, null, Map.of()));
+
+        assertEquals(1, line.split("\n").length);
+        assertEquals("multi\nline \"quoted\" message", objectMapper.readTree(line).path("message").asText());
+    }
+
+    private LoggingEvent event(String message, Object[] args, Throwable throwable, Map<String, String> mdc) {
+        LoggingEvent event = new LoggingEvent(getClass().getName(),
+                context.getLogger("com.event.service.OrderService"), Level.INFO, message, throwable, args);
+        event.setMDCPropertyMap(mdc);
+        return event;
+    }
+
+    private String encode(LoggingEvent event) {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.setService("thrift");
+        encoder.start();
+        return new String(encoder.encode(event), StandardCharsets.UTF_8);
+    }
+}
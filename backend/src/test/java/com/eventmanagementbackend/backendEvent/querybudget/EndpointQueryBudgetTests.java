@@ -0,0 +1,166 @@
+package com.eventmanagementbackend.backendEvent.querybudget;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.event.BackendEventApplication;
+import com.event.configuration.JwtUtil;
+import com.event.model.Donation;
+import com.event.model.Partner;
+import com.event.model.Program;
+import com.event.repository.DonationRepo;
+import com.event.repository.PartnerRepo;
+import com.event.repository.ProgramRepo;
+import com.event.service.CartService;
+import com.eventmanagementbackend.backendEvent.loadtest.LoadTestSeeder;
+import com.eventmanagementbackend.backendEvent.loadtest.LoadTestStubs;
+
+/**
+ * Query budgets for endpoints that used to load rows one by one. Each endpoint is called over data
+ * large enough that a per-row query would blow well past its budget (30 orders per user, 150
+ * venues, 30 partners), so a fetch-pattern regression fails here rather than in production.
+ *
+ * Runs on the embedded H2 of the loadtest profile, in its own database and search index.
+ */
+@SpringBootTest(classes = BackendEventApplication.class, properties = {
+        "loadtest.db-name=querybudget",
+        "venues.search.index-dir=${java.io.tmpdir}/thrift-venue-index-querybudget" })
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+@Import(LoadTestStubs.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryBudgetTests {
+
+    private static final LoadTestSeeder.Sizes SIZES = new LoadTestSeeder.Sizes(4, 30, 150, 120, 0);
+    private static final int CART_ITEMS = 10;
+    private static final int PARTNERS_WITH_DONATIONS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private PartnerRepo partnerRepo;
+
+    @Autowired
+    private ProgramRepo programRepo;
+
+    @Autowired
+    private DonationRepo donationRepo;
+
+    private long userId;
+    private String adminToken;
+    // /cart/** is ATTENDEE-only; order history is fetched the way the attendee's own page does
+    private String attendeeToken;
+
+    @BeforeAll
+    void seed() {
+        LoadTestSeeder.Seeded seeded = new LoadTestSeeder(jdbcTemplate).seed(SIZES);
+        userId = seeded.attendeeIds()[0];
+        adminToken = "Bearer " + jwtUtil.generateToken("querybudget-admin@example.com", "ADMIN", 0L);
+        attendeeToken = "Bearer " + jwtUtil.generateToken(seeded.attendeeEmail(userId), "ATTENDEE", userId);
+
+        for (int i = 0; i < CART_ITEMS; i++) {
+            cartService.addToCart(userId, seeded.venueIds()[i], 1);
+        }
+
+        String[] paymentStatuses = { "UNPAID", "REQUESTED", "PAID" };
+        // The summary lists partners by id; the first ones get the donations
+        List<Partner> partners = partnerRepo.findAll().stream()
+                .sorted(Comparator.comparing(Partner::getUser_id))
+                .limit(PARTNERS_WITH_DONATIONS)
+                .toList();
+        for (Partner partner : partners) {
+            for (int p = 0; p < 2; p++) {
+                Program program = new Program();
+                program.setProgramTitle("Winter drive " + p);
+                program.setPartner(partner);
+                program = programRepo.save(program);
+
+                for (String paymentStatus : paymentStatuses) {
+                    Donation donation = new Donation();
+                    donation.setProgram(program);
+                    donation.setFullName("Donor");
+                    donation.setStatus("pickedup");
+                    donation.setPickupFee(150.0);
+                    donation.setPickupPaymentStatus(paymentStatus);
+                    donationRepo.save(donation);
+                }
+            }
+        }
+    }
+
+    // Venues with partner fetched; image and amenity lists batch-loaded 100 venues at a time
+    @Test
+    @QueryBudget(value = 5, maxRepeats = 2)
+    void venueListing() throws Exception {
+        mockMvc.perform(get("/venues").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SIZES.venues()));
+    }
+
+    @Test
+    @QueryBudget(value = 3, maxRepeats = 1)
+    void venuePage() throws Exception {
+        mockMvc.perform(get("/venues/page").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(50));
+    }
+
+    // Orders, their items in one batch, then the venue names in one lookup
+    @Test
+    @QueryBudget(value = 3, maxRepeats = 1)
+    void orderHistory() throws Exception {
+        mockMvc.perform(get("/api/orders/user/{userId}", userId).header("Authorization", attendeeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SIZES.orders() / SIZES.users()));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void cart() throws Exception {
+        mockMvc.perform(get("/cart/{userId}", userId).header("Authorization", attendeeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(CART_ITEMS));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void partnerListing() throws Exception {
+        mockMvc.perform(get("/admin/partners").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SIZES.partners()));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void pickupFeeSummary() throws Exception {
+        mockMvc.perform(get("/donations/pickup-fees/admin/summary").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SIZES.partners()))
+                .andExpect(jsonPath("$[0].requestedAmount").value(300.0));
+    }
+}
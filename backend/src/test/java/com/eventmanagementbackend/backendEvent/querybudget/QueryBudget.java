@@ -0,0 +1,26 @@
+package com.eventmanagementbackend.backendEvent.querybudget;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Fails the test if its body issues more Hibernate statements than allowed. Counted on the test
+ * thread, so it covers MockMvc requests and direct service calls but not work handed to other
+ * threads; {@code @BeforeEach}/{@code @BeforeAll} setup is not counted. On a class, it applies to
+ * every test method that doesn't declare its own.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /** Most statements the test body may issue. */
+    int value();
+
+    /** Most times any one statement shape may run, to catch per-row loading; 0 for no limit. */
+    int maxRepeats() default 0;
+}
@@ -0,0 +1,69 @@
+package com.eventmanagementbackend.backendEvent.querybudget;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+import com.event.config.QueryCountInspector;
+
+/**
+ * Enforces {@link QueryBudget}: records the statements issued while the test method runs and
+ * fails it with the statement shapes when the budget is exceeded.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    // Shapes listed in a failure message
+    private static final int REPORTED_SHAPES = 5;
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (budget(context).isPresent()) {
+            context.getStore(NAMESPACE).put(context.getUniqueId(), QueryCountInspector.record());
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCountInspector.Recording recording = context.getStore(NAMESPACE)
+                .remove(context.getUniqueId(), QueryCountInspector.Recording.class);
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        if (context.getExecutionException().isPresent()) {
+            return; // the test's own failure is the one worth reporting
+        }
+
+        QueryBudget budget = budget(context).orElseThrow();
+        Map.Entry<String, Integer> top = recording.mostRepeated();
+        if (recording.total() > budget.value()) {
+            throw new AssertionFailedError("Expected at most " + budget.value() + " statements but "
+                    + recording.total() + " ran" + report(recording));
+        }
+        if (budget.maxRepeats() > 0 && top != null && top.getValue() > budget.maxRepeats()) {
+            throw new AssertionFailedError("Expected no statement to run more than " + budget.maxRepeats()
+                    + " times but one ran " + top.getValue() + " times" + report(recording));
+        }
+    }
+
+    private static Optional<QueryBudget> budget(ExtensionContext context) {
+        Optional<QueryBudget> onMethod = AnnotationSupport.findAnnotation(context.getTestMethod(), QueryBudget.class);
+        return onMethod.isPresent() ? onMethod
+                : AnnotationSupport.findAnnotation(context.getTestClass(), QueryBudget.class);
+    }
+
+    private static String report(QueryCountInspector.Recording recording) {
+        StringBuilder report = new StringBuilder(":");
+        recording.shapes().entrySet().stream().limit(REPORTED_SHAPES).forEach(e ->
+                report.append("\n  ").append(e.getValue()).append("x ").append(e.getKey()));
+        return report.toString();
+    }
+}
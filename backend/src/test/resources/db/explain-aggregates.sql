@@ -0,0 +1,136 @@
+-- Before/after query plans for the dashboard aggregates (StatsRollup.reconcile and countActiveOrders).
+--
+-- Run against a scratch MySQL 8 schema, never the application database:
+--   mysql -u root -p -e "CREATE DATABASE IF NOT EXISTS explain_scratch"
+--   mysql -u root -p explain_scratch < src/test/resources/db/explain-aggregates.sql
+--
+-- The tables only carry the columns the queries touch, with the constraints the entities declare.
+-- Seeds 200k orders, 50k users and 50k venues spread over three years; adjust @rows below for a
+-- bigger dataset.
+
+SET SESSION cte_max_recursion_depth = 1000000;
+SET @rows = 200000;
+
+DROP TABLE IF EXISTS orders, user, venue, notifications;
+
+CREATE TABLE orders (
+    order_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT,
+    status VARCHAR(255),
+    transaction_uuid VARCHAR(255) UNIQUE,
+    total_amount DECIMAL(38, 2),
+    created_at DATETIME(6)
+);
+
+CREATE TABLE user (
+    user_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    role VARCHAR(255),
+    created_at DATETIME(6)
+);
+
+CREATE TABLE venue (
+    venue_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    status VARCHAR(255),
+    created_at DATETIME(6)
+);
+
+CREATE TABLE notifications (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
+
+INSERT INTO orders (user_id, status, transaction_uuid, total_amount, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @rows)
+SELECT n % 50000 + 1,
+       ELT(n % 5 + 1, 'Payment Pending', 'Paid', 'Completed', 'Cancelled', 'Shipped'),
+       UUID(),
+       ROUND(100 + (n * 37) % 9900, 2),
+       TIMESTAMP('2023-01-01') + INTERVAL (n * 473) % (3 * 365 * 86400) SECOND
+FROM seq;
+
+INSERT INTO user (role, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @rows / 4)
+SELECT IF(n % 10 = 0, 'PARTNER', 'USER'),
+       TIMESTAMP('2023-01-01') + INTERVAL (n * 1877) % (3 * 365 * 86400) SECOND
+FROM seq;
+
+INSERT INTO venue (status, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @rows / 4)
+SELECT IF(n % 4 = 0, 'Inactive', 'Available'),
+       TIMESTAMP('2023-01-01') + INTERVAL (n * 1901) % (3 * 365 * 86400) SECOND
+FROM seq;
+
+INSERT INTO notifications (user_id, status, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < @rows)
+SELECT n % 50000 + 1,
+       IF(n % 3 = 0, 'UNREAD', 'READ'),
+       TIMESTAMP('2023-01-01') + INTERVAL (n * 479) % (3 * 365 * 86400) SECOND
+FROM seq;
+
+ANALYZE TABLE orders, user, venue, notifications;
+
+-- ---------------------------------------------------------------------------------------------
+-- Before: YEAR()/LOWER() on the column, no secondary indexes. Expect type=ALL (full scans).
+-- ---------------------------------------------------------------------------------------------
+
+EXPLAIN ANALYZE
+SELECT MONTH(created_at), SUM(total_amount) FROM orders
+WHERE YEAR(created_at) = 2024 GROUP BY MONTH(created_at) ORDER BY MONTH(created_at);
+
+EXPLAIN ANALYZE
+SELECT MONTH(created_at), COUNT(*) FROM user
+WHERE YEAR(created_at) = 2024 GROUP BY MONTH(created_at) ORDER BY MONTH(created_at);
+
+EXPLAIN ANALYZE
+SELECT MONTH(created_at), COUNT(*) FROM venue
+WHERE YEAR(created_at) = 2024 GROUP BY MONTH(created_at) ORDER BY MONTH(created_at);
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM orders WHERE LOWER(status) NOT IN ('completed', 'cancelled', 'canceled');
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM notifications WHERE user_id = 42 AND status = 'UNREAD';
+
+-- ---------------------------------------------------------------------------------------------
+-- After: the indexes declared on the entities and the half-open ranges the repositories now use.
+-- Expect type=range on the created_at indexes ("Using index" for orders, which is covered by
+-- idx_order_created) and type=ref on the notification and status lookups.
+-- ---------------------------------------------------------------------------------------------
+
+CREATE INDEX idx_order_status_created ON orders (status, created_at);
+CREATE INDEX idx_order_created ON orders (created_at, total_amount);
+CREATE INDEX idx_order_user ON orders (user_id, order_id);
+CREATE INDEX idx_user_role ON user (role);
+CREATE INDEX idx_user_created ON user (created_at);
+CREATE INDEX idx_venue_created ON venue (created_at, venue_id);
+CREATE INDEX idx_notification_recipient_status_created ON notifications (user_id, status, created_at);
+
+ANALYZE TABLE orders, user, venue, notifications;
+
+EXPLAIN ANALYZE
+SELECT MONTH(created_at), SUM(total_amount) FROM orders
+WHERE created_at >= '2024-01-01' AND created_at < '2025-01-01'
+GROUP BY MONTH(created_at) ORDER BY MONTH(created_at);
+
+EXPLAIN ANALYZE
+SELECT MONTH(created_at), COUNT(*) FROM user
+WHERE created_at >= '2024-01-01' AND created_at < '2025-01-01'
+GROUP BY MONTH(created_at) ORDER BY MONTH(created_at);
+
+EXPLAIN ANALYZE
+SELECT MONTH(created_at), COUNT(*) FROM venue
+WHERE created_at >= '2024-01-01' AND created_at < '2025-01-01'
+GROUP BY MONTH(created_at) ORDER BY MONTH(created_at);
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM orders WHERE status NOT IN ('completed', 'cancelled', 'canceled');
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM notifications WHERE user_id = 42 AND status = 'UNREAD';
+
+-- For comparison, the old YEAR() shape still cannot use idx_order_created:
+EXPLAIN
+SELECT MONTH(created_at), SUM(total_amount) FROM orders
+WHERE YEAR(created_at) = 2024 GROUP BY MONTH(created_at);